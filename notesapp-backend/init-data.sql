@@ -15,16 +15,18 @@ INSERT INTO tenants (id, name, subscription_plan)
 VALUES (2, 'Another Company', 'FREE')
 ON CONFLICT (id) DO NOTHING;
 
+-- Passwords are stored as bcrypt hashes ({bcrypt} prefix) of 'password123'
+
 -- Insert admin user for Tenant 1
 -- Email: admin@test.com | Password: password123 | Role: ADMIN
 INSERT INTO users (id, email, password, role, tenant_id)
-VALUES (1, 'admin@test.com', 'password123', 'ADMIN', 1)
+VALUES (1, 'admin@test.com', '{bcrypt}$2a$10$MNFZMB9rRTAs3AbgkcJ.Oe1uwt5SBAVUloB8AjFyJreJ8jrFTPb7G', 'ADMIN', 1)
 ON CONFLICT (id) DO NOTHING;
 
 -- Insert member user for Tenant 2
 -- Email: user@another.com | Password: password123 | Role: MEMBER
 INSERT INTO users (id, email, password, role, tenant_id)
-VALUES (2, 'user@another.com', 'password123', 'MEMBER', 2)
+VALUES (2, 'user@another.com', '{bcrypt}$2a$10$MNFZMB9rRTAs3AbgkcJ.Oe1uwt5SBAVUloB8AjFyJreJ8jrFTPb7G', 'MEMBER', 2)
 ON CONFLICT (id) DO NOTHING;
 
 -- Reset sequences to ensure auto-generated IDs start after existing records
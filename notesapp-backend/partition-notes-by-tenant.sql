@@ -0,0 +1,125 @@
+-- ========================================
+-- Multi-Tenant Notes App - Partition notes by tenant
+-- ========================================
+-- One-off migration that turns the notes table into a table partitioned by tenant_id.
+-- Every note query filters on tenant_id, so PostgreSQL only touches the partition of
+-- the requesting tenant (partition pruning): a large tenant's indexes, vacuum and
+-- bloat no longer affect everyone else.
+--
+-- Layout:
+--   notes                      PARTITION BY LIST (tenant_id)
+--     notes_tenant_<id>        one partition per isolated (large) tenant
+--     notes_default            DEFAULT partition, PARTITION BY HASH (tenant_id)
+--       notes_default_p0..p15  small tenants, spread over 16 hash partitions
+--
+-- Run it once, with the application stopped, after the Flyway migrations have been
+-- applied (start the application once first):
+--   psql -d notesapp_db -v ON_ERROR_STOP=1 -f partition-notes-by-tenant.sql
+-- Then isolate large tenants, in a maintenance window (see notes_isolate_tenant below):
+--   CALL notes_isolate_tenant(1);
+--
+-- The old table is kept as notes_unpartitioned until the new one is verified:
+--   DROP TABLE notes_unpartitioned;
+-- ========================================
+
+BEGIN;
+
+ALTER TABLE notes RENAME TO notes_unpartitioned;
+ALTER INDEX notes_pkey RENAME TO notes_unpartitioned_pkey;
+ALTER INDEX idx_notes_tenant_updated_id RENAME TO idx_notes_unpartitioned_tenant_updated_id;
+ALTER INDEX idx_notes_search_vector RENAME TO idx_notes_unpartitioned_search_vector;
+ALTER INDEX IF EXISTS idx_notes_tenant_created_by RENAME TO idx_notes_unpartitioned_tenant_created_by;
+
+-- Same columns as the entity. Ids come from notes_seq (assigned by the application),
+-- so id is a plain column; the primary key must include the partition key.
+CREATE TABLE notes (
+    id          bigint       NOT NULL,
+    content     text         NOT NULL,
+    created_at  timestamp(6) NOT NULL,
+    created_by  bigint       NOT NULL,
+    tenant_id   bigint       NOT NULL,
+    title       varchar(255) NOT NULL,
+    updated_at  timestamp(6) NOT NULL,
+    version     bigint       NOT NULL DEFAULT 0,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', left(coalesce(content, ''), 100000)), 'B')
+    ) STORED,
+    CONSTRAINT notes_pkey PRIMARY KEY (id, tenant_id)
+) PARTITION BY LIST (tenant_id);
+
+-- Indexes on the parent are created on every current and future partition
+CREATE INDEX idx_notes_tenant_updated_id ON notes (tenant_id, updated_at, id);
+CREATE INDEX idx_notes_search_vector ON notes USING gin (search_vector);
+CREATE INDEX idx_notes_tenant_created_by ON notes (tenant_id, created_by);
+
+CREATE TABLE notes_default PARTITION OF notes DEFAULT PARTITION BY HASH (tenant_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE notes_default_p%s PARTITION OF notes_default '
+                       'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+    END LOOP;
+END
+$$;
+
+-- Keep the content compression method (V4 migration) on the new tables. It is not
+-- inherited by existing partitions, so it is set on each of them.
+DO $$
+DECLARE
+    rel regclass;
+BEGIN
+    IF (SELECT attcompression FROM pg_attribute
+        WHERE attrelid = 'notes_unpartitioned'::regclass AND attname = 'content') = 'l' THEN
+        FOR rel IN SELECT relid FROM pg_partition_tree('notes') LOOP
+            EXECUTE format('ALTER TABLE %s ALTER COLUMN content SET COMPRESSION lz4', rel);
+        END LOOP;
+    END IF;
+END
+$$;
+
+INSERT INTO notes (id, content, created_at, created_by, tenant_id, title, updated_at, version)
+SELECT id, content, created_at, created_by, tenant_id, title, updated_at, version
+FROM notes_unpartitioned;
+
+-- Gives one tenant its own list partition, moving its rows out of the hash partitions.
+-- The move runs in the caller's transaction.
+--
+-- Maintenance-window operation: note writes (INSERT, UPDATE, DELETE) of EVERY tenant still
+-- in the default partition are blocked until the call commits. That covers copying the
+-- tenant's rows and the ATTACH, which scans notes_default to prove no row of the tenant is
+-- left there. Reads are not blocked. Expect a large tenant's move to take minutes.
+CREATE OR REPLACE PROCEDURE notes_isolate_tenant(p_tenant_id bigint)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    partition_name text := 'notes_tenant_' || p_tenant_id;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RAISE NOTICE 'Tenant % already has partition %', p_tenant_id, partition_name;
+        RETURN;
+    END IF;
+
+    -- Blocks writes to the whole default partition (all of its tenants, not only this one)
+    -- until the call commits, so no row of the tenant is written there during the move
+    LOCK TABLE notes_default IN SHARE ROW EXCLUSIVE MODE;
+
+    EXECUTE format('CREATE TABLE %I (LIKE notes INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING COMPRESSION)', partition_name);
+    -- Lets ATTACH skip the full validation scan of the new partition
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (tenant_id = %s)',
+                   partition_name, partition_name || '_tenant_check', p_tenant_id);
+
+    EXECUTE format('INSERT INTO %I (id, content, created_at, created_by, tenant_id, title, updated_at, version) '
+                   'SELECT id, content, created_at, created_by, tenant_id, title, updated_at, version '
+                   'FROM notes_default WHERE tenant_id = %s', partition_name, p_tenant_id);
+    DELETE FROM notes_default WHERE tenant_id = p_tenant_id;
+
+    -- Scans notes_default (under the lock above) to check that none of the tenant's rows remain
+    EXECUTE format('ALTER TABLE notes ATTACH PARTITION %I FOR VALUES IN (%s)', partition_name, p_tenant_id);
+END
+$$;
+
+COMMIT;
+
+ANALYZE notes;
@@ -0,0 +1,49 @@
+package com.vulnuris.notesservice.benchmark;
+
+import com.vulnuris.notesservice.tenant.TenantContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared fixtures for the JMH benchmarks.
+ *
+ * Everything random is seeded, so every run measures the same inputs.
+ */
+final class BenchmarkSupport {
+
+    static final String JWT_SECRET = "benchmark_secret_key_that_is_at_least_32_chars_long";
+    static final long JWT_EXPIRATION_MS = 86_400_000L;
+    static final long SEED = 42L;
+
+    private static final String[] WORDS = {
+            "meeting", "project", "release", "budget", "design", "review", "deploy", "customer",
+            "invoice", "roadmap", "sprint", "backlog", "database", "latency", "cache", "tenant"
+    };
+
+    private BenchmarkSupport() {
+    }
+
+    // Deterministic pseudo-text of roughly the given length
+    static String text(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    // Same thread-local state JwtAuthFilter establishes for an authenticated request
+    static void authenticate(Long userId, Long tenantId, String role) {
+        TenantContext.setTenantId(tenantId);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userId, null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+}
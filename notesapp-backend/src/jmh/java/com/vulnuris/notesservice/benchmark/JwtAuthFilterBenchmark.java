@@ -0,0 +1,59 @@
+package com.vulnuris.notesservice.benchmark;
+
+import com.vulnuris.notesservice.security.JwtAuthFilter;
+import com.vulnuris.notesservice.security.JwtUtil;
+import com.vulnuris.notesservice.security.JwtVerificationCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full JwtAuthFilter path for one request: header parsing, (cached) token verification,
+ * tenant and security context setup and teardown.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class JwtAuthFilterBenchmark {
+
+    /** valid: cached good token; invalid: bad signature (401); anonymous: no Authorization header */
+    @Param({"valid", "invalid", "anonymous"})
+    public String tokenKind;
+
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(BenchmarkSupport.JWT_SECRET, BenchmarkSupport.JWT_EXPIRATION_MS);
+        JwtVerificationCache verificationCache =
+                new JwtVerificationCache(jwtUtil, new SimpleMeterRegistry(), 100_000, Duration.ofMinutes(15));
+        filter = new JwtAuthFilter(verificationCache, new SimpleMeterRegistry());
+
+        String token = jwtUtil.generateToken(1L, 1L, "MEMBER");
+        authorization = switch (tokenKind) {
+            case "valid" -> "Bearer " + token;
+            case "invalid" -> "Bearer " + token.substring(0, token.length() - 2) + "xx";
+            default -> null;
+        };
+    }
+
+    @Benchmark
+    public int doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notes");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
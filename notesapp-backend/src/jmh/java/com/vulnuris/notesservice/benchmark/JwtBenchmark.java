@@ -0,0 +1,56 @@
+package com.vulnuris.notesservice.benchmark;
+
+import com.vulnuris.notesservice.security.JwtPrincipal;
+import com.vulnuris.notesservice.security.JwtUtil;
+import com.vulnuris.notesservice.security.JwtVerificationCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification: raw JwtUtil calls versus the cached verification path
+ * used by JwtAuthFilter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtVerificationCache verificationCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(BenchmarkSupport.JWT_SECRET, BenchmarkSupport.JWT_EXPIRATION_MS);
+        verificationCache = new JwtVerificationCache(jwtUtil, new SimpleMeterRegistry(), 100_000, Duration.ofMinutes(15));
+        token = jwtUtil.generateToken(1L, 1L, "ADMIN");
+        verificationCache.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(1L, 1L, "ADMIN");
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal parsePrincipal() {
+        return jwtUtil.parsePrincipal(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal verifyCached() {
+        return verificationCache.verify(token);
+    }
+}
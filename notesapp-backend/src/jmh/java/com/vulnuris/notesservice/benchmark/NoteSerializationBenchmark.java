@@ -0,0 +1,67 @@
+package com.vulnuris.notesservice.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vulnuris.notesservice.model.Note;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of note lists as returned by the API, across list sizes and
+ * content lengths. The mapper is configured like Spring Boot's default one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class NoteSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int notes;
+
+    @Param({"200", "10000"})
+    public int contentLength;
+
+    private ObjectWriter writer;
+    private List<Note> payload;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<List<Note>>() { });
+
+        Random random = new Random(BenchmarkSupport.SEED);
+        LocalDateTime timestamp = LocalDateTime.of(2025, 1, 1, 12, 0);
+        payload = new ArrayList<>(notes);
+        for (int i = 0; i < notes; i++) {
+            Note note = new Note();
+            note.setId((long) i + 1);
+            note.setTitle(BenchmarkSupport.text(random, 40));
+            note.setContent(BenchmarkSupport.text(random, contentLength));
+            note.setTenantId(1L);
+            note.setCreatedBy(1L);
+            // Timestamps and version are normally managed by Hibernate
+            ReflectionTestUtils.setField(note, "createdAt", timestamp);
+            ReflectionTestUtils.setField(note, "updatedAt", timestamp.plusSeconds(i));
+            ReflectionTestUtils.setField(note, "version", 0L);
+            payload.add(note);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(payload);
+    }
+}
@@ -0,0 +1,169 @@
+package com.vulnuris.notesservice.benchmark;
+
+import com.vulnuris.notesservice.NotesServiceApplication;
+import com.vulnuris.notesservice.dto.CursorPage;
+import com.vulnuris.notesservice.dto.NoteBatchOperation;
+import com.vulnuris.notesservice.dto.NoteBatchResponse;
+import com.vulnuris.notesservice.dto.NoteChanges;
+import com.vulnuris.notesservice.dto.NoteSearchHit;
+import com.vulnuris.notesservice.dto.NoteSummary;
+import com.vulnuris.notesservice.model.Note;
+import com.vulnuris.notesservice.model.Role;
+import com.vulnuris.notesservice.model.SubscriptionPlan;
+import com.vulnuris.notesservice.model.Tenant;
+import com.vulnuris.notesservice.model.User;
+import com.vulnuris.notesservice.repository.TenantRepository;
+import com.vulnuris.notesservice.repository.UserRepository;
+import com.vulnuris.notesservice.service.NoteService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NoteServiceImpl operations end to end (service, JPA, PostgreSQL) against an embedded
+ * PostgreSQL instance seeded with a fixed data set. Numbers include real database
+ * round trips, so compare them only across runs on the same machine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(1)
+@State(Scope.Benchmark)
+public class NoteServiceBenchmark {
+
+    @Param({"10000"})
+    public int tenantNotes;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private Long tenantId;
+    private Long userId;
+    private List<Long> noteIds;
+    private Random random;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(NotesServiceApplication.class).run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--jwt.secret=" + BenchmarkSupport.JWT_SECRET,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=ERROR");
+        noteService = context.getBean(NoteService.class);
+
+        // PRO tenant, so quota checks do not cap the data set
+        Tenant tenant = new Tenant();
+        tenant.setName("benchmark");
+        tenant.setSubscriptionPlan(SubscriptionPlan.PRO);
+        tenantId = context.getBean(TenantRepository.class).save(tenant).getId();
+
+        User user = new User();
+        user.setEmail("benchmark@example.com");
+        user.setPassword("benchmark");
+        user.setRole(Role.ADMIN);
+        user.setTenantId(tenantId);
+        userId = context.getBean(UserRepository.class).save(user).getId();
+
+        random = new Random(BenchmarkSupport.SEED);
+        noteIds = new ArrayList<>(tenantNotes);
+        authenticate();
+        for (int seeded = 0; seeded < tenantNotes; seeded += 500) {
+            List<NoteBatchOperation> operations = new ArrayList<>();
+            for (int i = seeded; i < Math.min(seeded + 500, tenantNotes); i++) {
+                operations.add(createOperation(1_000));
+            }
+            NoteBatchResponse response = noteService.applyBatch(operations);
+            response.getResults().forEach(result -> noteIds.add(result.getId()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    // Request threads get this from JwtAuthFilter; JMH worker threads need it set explicitly
+    private void authenticate() {
+        BenchmarkSupport.authenticate(userId, tenantId, "ADMIN");
+    }
+
+    private Long nextNoteId() {
+        next = (next + 1) % noteIds.size();
+        return noteIds.get(next);
+    }
+
+    private NoteBatchOperation createOperation(int contentLength) {
+        NoteBatchOperation op = new NoteBatchOperation();
+        op.setOp(NoteBatchOperation.Type.CREATE);
+        op.setTitle(BenchmarkSupport.text(random, 40));
+        op.setContent(BenchmarkSupport.text(random, contentLength));
+        return op;
+    }
+
+    @Benchmark
+    public Note createNote() {
+        authenticate();
+        Note note = new Note();
+        note.setTitle(BenchmarkSupport.text(random, 40));
+        note.setContent(BenchmarkSupport.text(random, 1_000));
+        return noteService.createNote(note);
+    }
+
+    @Benchmark
+    public NoteBatchResponse applyBatchOf50Creates() {
+        authenticate();
+        List<NoteBatchOperation> operations = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            operations.add(createOperation(1_000));
+        }
+        return noteService.applyBatch(operations);
+    }
+
+    @Benchmark
+    public Note getNoteById() {
+        authenticate();
+        return noteService.getNoteById(nextNoteId());
+    }
+
+    @Benchmark
+    public Note updateNote() {
+        authenticate();
+        Note changes = new Note();
+        changes.setTitle(BenchmarkSupport.text(random, 40));
+        changes.setContent(BenchmarkSupport.text(random, 1_000));
+        return noteService.updateNote(nextNoteId(), changes);
+    }
+
+    @Benchmark
+    public CursorPage<NoteSummary> getNotesFirstPage() {
+        authenticate();
+        return noteService.getNotes(null, 20);
+    }
+
+    @Benchmark
+    public CursorPage<NoteSearchHit> searchNotes() {
+        authenticate();
+        return noteService.searchNotes("release deploy", null, 20);
+    }
+
+    @Benchmark
+    public NoteChanges getChangesFirstPage() {
+        authenticate();
+        return noteService.getChanges(null, 100);
+    }
+}
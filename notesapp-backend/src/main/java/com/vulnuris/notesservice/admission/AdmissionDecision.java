@@ -0,0 +1,58 @@
+package com.vulnuris.notesservice.admission;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Outcome of TenantAdmissionService#tryAdmit. An admitted request holds a concurrency
+ * permit that must be returned with {@link #release()} when the request finishes.
+ * Releasing more than once is harmless.
+ */
+public final class AdmissionDecision {
+
+    private static final AdmissionDecision UNLIMITED = new AdmissionDecision(true, null, null, 0);
+
+    private final boolean admitted;
+    private final Semaphore permit;
+    private final String rejectionReason;
+    private final long retryAfterSeconds;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private AdmissionDecision(boolean admitted, Semaphore permit, String rejectionReason, long retryAfterSeconds) {
+        this.admitted = admitted;
+        this.permit = permit;
+        this.rejectionReason = rejectionReason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    static AdmissionDecision unlimited() {
+        return UNLIMITED;
+    }
+
+    static AdmissionDecision admitted(Semaphore permit) {
+        return new AdmissionDecision(true, permit, null, 0);
+    }
+
+    static AdmissionDecision rejected(String reason, long retryAfterSeconds) {
+        return new AdmissionDecision(false, null, reason, retryAfterSeconds);
+    }
+
+    public boolean isAdmitted() {
+        return admitted;
+    }
+
+    /** "rate" or "concurrency" for rejected requests, null otherwise. */
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void release() {
+        if (permit != null && released.compareAndSet(false, true)) {
+            permit.release();
+        }
+    }
+}
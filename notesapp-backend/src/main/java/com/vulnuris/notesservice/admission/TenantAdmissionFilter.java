@@ -0,0 +1,96 @@
+package com.vulnuris.notesservice.admission;
+
+import com.vulnuris.notesservice.tenant.TenantContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies per-tenant admission control to authenticated requests.
+ *
+ * Runs after JwtAuthFilter (TenantContext is set). Rejected requests get 429 Too Many
+ * Requests with a Retry-After header before any controller or database work happens.
+ * For async responses (e.g. the NDJSON export) the concurrency permit is held until the
+ * response completes, times out or fails, since the streaming holds a database connection.
+ * The note change stream is the exception: it holds no connection and may stay open for
+ * a long time, so its permit is released when the request thread returns.
+ */
+public class TenantAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String NOTE_STREAM_PATH = "/api/notes/stream";
+
+    private final TenantAdmissionService admissionService;
+
+    public TenantAdmissionFilter(TenantAdmissionService admissionService) {
+        this.admissionService = admissionService;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Long tenantId = TenantContext.getTenantId();
+        if (tenantId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionDecision decision = admissionService.tryAdmit(tenantId);
+        if (!decision.isAdmitted()) {
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.getRetryAfterSeconds()));
+            response.setContentType("application/json");
+            response.getWriter().write("concurrency".equals(decision.getRejectionReason())
+                    ? "{\"error\": \"Too many concurrent requests for this tenant\"}"
+                    : "{\"error\": \"Rate limit exceeded for this tenant\"}");
+            return;
+        }
+
+        boolean releaseOnAsyncEnd = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted() && !NOTE_STREAM_PATH.equals(request.getRequestURI())) {
+                request.getAsyncContext().addListener(new ReleaseOnAsyncEnd(decision));
+                releaseOnAsyncEnd = true;
+            }
+        } finally {
+            if (!releaseOnAsyncEnd) {
+                decision.release();
+            }
+        }
+    }
+
+    // Returns the permit of an async request once its response is done, whichever way it ends
+    private record ReleaseOnAsyncEnd(AdmissionDecision decision) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            decision.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            decision.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            decision.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are cleared when async processing restarts; stay registered
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.vulnuris.notesservice.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vulnuris.notesservice.model.SubscriptionPlan;
+import com.vulnuris.notesservice.model.Tenant;
+import com.vulnuris.notesservice.tenant.TenantCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tenant admission control: a request rate limit plus a cap on concurrent requests,
+ * both configured per subscription plan.
+ *
+ * The rate limit is a GCRA token bucket (lock-free, one CAS per request). The concurrency
+ * cap is a non-blocking Semaphore held for the duration of the request, which keeps a single
+ * tenant from occupying the whole connection pool. Limiter state lives in a bounded Caffeine
+ * cache keyed by tenant and plan, so idle tenants are dropped and a plan change takes effect
+ * with fresh limits.
+ */
+@Component
+public class TenantAdmissionService {
+
+    private final TenantCache tenantCache;
+    private final boolean enabled;
+    private final Map<SubscriptionPlan, PlanLimits> limits = new EnumMap<>(SubscriptionPlan.class);
+    private final Cache<LimiterKey, TenantLimiter> limiters;
+    private final Counter rateRejections;
+    private final Counter concurrencyRejections;
+
+    public TenantAdmissionService(
+            TenantCache tenantCache,
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.free.requests-per-second:5}") double freeRequestsPerSecond,
+            @Value("${rate-limit.free.burst:20}") int freeBurst,
+            @Value("${rate-limit.free.max-concurrent:2}") int freeMaxConcurrent,
+            @Value("${rate-limit.pro.requests-per-second:50}") double proRequestsPerSecond,
+            @Value("${rate-limit.pro.burst:100}") int proBurst,
+            @Value("${rate-limit.pro.max-concurrent:5}") int proMaxConcurrent,
+            @Value("${rate-limit.max-tenants:100000}") long maxTenants,
+            @Value("${rate-limit.idle-ttl:10m}") Duration idleTtl
+    ) {
+        this.tenantCache = tenantCache;
+        this.enabled = enabled;
+        limits.put(SubscriptionPlan.FREE, new PlanLimits(freeRequestsPerSecond, freeBurst, freeMaxConcurrent));
+        limits.put(SubscriptionPlan.PRO, new PlanLimits(proRequestsPerSecond, proBurst, proMaxConcurrent));
+        this.limiters = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterAccess(idleTtl)
+                .build();
+        this.rateRejections = rejectionCounter(meterRegistry, "rate");
+        this.concurrencyRejections = rejectionCounter(meterRegistry, "concurrency");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("notes.admission.rejections")
+                .description("Requests rejected by per-tenant admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Decides whether a request of the given tenant may proceed. Admitted decisions must be
+     * released when the request completes.
+     */
+    public AdmissionDecision tryAdmit(Long tenantId) {
+        if (!enabled) {
+            return AdmissionDecision.unlimited();
+        }
+        // Unknown tenants (stale tokens) are left to the normal "tenant not found" handling
+        Optional<Tenant> tenant = tenantCache.findById(tenantId);
+        if (tenant.isEmpty()) {
+            return AdmissionDecision.unlimited();
+        }
+
+        SubscriptionPlan plan = tenant.get().getSubscriptionPlan();
+        TenantLimiter limiter = limiters.get(new LimiterKey(tenantId, plan),
+                key -> new TenantLimiter(limits.get(plan), System.nanoTime()));
+
+        long waitNanos = limiter.bucket.tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            rateRejections.increment();
+            return AdmissionDecision.rejected("rate", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+        }
+        if (!limiter.concurrency.tryAcquire()) {
+            concurrencyRejections.increment();
+            return AdmissionDecision.rejected("concurrency", 1);
+        }
+        return AdmissionDecision.admitted(limiter.concurrency);
+    }
+
+    private record PlanLimits(double requestsPerSecond, int burst, int maxConcurrent) {
+    }
+
+    private record LimiterKey(Long tenantId, SubscriptionPlan plan) {
+    }
+
+    private static final class TenantLimiter {
+        private final GcraBucket bucket;
+        private final Semaphore concurrency;
+
+        private TenantLimiter(PlanLimits limits, long nowNanos) {
+            this.bucket = new GcraBucket(limits.requestsPerSecond(), limits.burst(), nowNanos);
+            this.concurrency = new Semaphore(limits.maxConcurrent());
+        }
+    }
+}
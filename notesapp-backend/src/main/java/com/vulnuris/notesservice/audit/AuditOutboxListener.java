@@ -0,0 +1,35 @@
+package com.vulnuris.notesservice.audit;
+
+import com.vulnuris.notesservice.model.NoteAuditOutbox;
+import com.vulnuris.notesservice.repository.NoteAuditOutboxRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records every note mutation in the audit outbox, inside the mutating transaction.
+ *
+ * The write is a single-row INSERT (batched with the note statements at flush), so the
+ * mutation pays almost nothing for the audit trail; the bulk work happens in AuditOutboxRelay.
+ * When the relay has fallen too far behind, mutations are rejected with 503 instead of
+ * letting the outbox grow without bound.
+ */
+@Component
+public class AuditOutboxListener {
+
+    private final NoteAuditOutboxRepository outboxRepository;
+    private final AuditOutboxRelay relay;
+
+    public AuditOutboxListener(NoteAuditOutboxRepository outboxRepository, AuditOutboxRelay relay) {
+        this.outboxRepository = outboxRepository;
+        this.relay = relay;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onNoteMutation(NoteMutationEvent event) {
+        relay.checkCapacity();
+        outboxRepository.save(new NoteAuditOutbox(event));
+    }
+}
@@ -0,0 +1,92 @@
+package com.vulnuris.notesservice.audit;
+
+import com.vulnuris.notesservice.exception.ServiceOverloadedException;
+import com.vulnuris.notesservice.repository.NoteAuditOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background publisher of the audit outbox: moves pending records to note_audit_log in
+ * batches, oldest first.
+ *
+ * After every run it samples the backlog (pending records) and lag (age of the oldest
+ * one) on the primary, exported as metrics. The backlog sample also drives backpressure: while it is at
+ * or above audit.outbox.max-backlog, checkCapacity() rejects new mutations.
+ */
+@Component
+public class AuditOutboxRelay {
+
+    private final NoteAuditOutboxRepository outboxRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long maxBacklog;
+    private final Duration retryAfter;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter relayed;
+    private final Counter rejected;
+
+    public AuditOutboxRelay(NoteAuditOutboxRepository outboxRepository, MeterRegistry meterRegistry,
+                            @Value("${audit.outbox.batch-size:500}") int batchSize,
+                            @Value("${audit.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                            @Value("${audit.outbox.max-backlog:100000}") long maxBacklog,
+                            @Value("${audit.outbox.drain-interval:1s}") Duration drainInterval) {
+        this.outboxRepository = outboxRepository;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxBacklog = maxBacklog;
+        this.retryAfter = drainInterval.multipliedBy(5);
+
+        Gauge.builder("notes.audit.outbox.backlog", backlog, AtomicLong::get)
+                .description("Audit records waiting to be moved to the audit log")
+                .register(meterRegistry);
+        TimeGauge.builder("notes.audit.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest audit record waiting in the outbox")
+                .register(meterRegistry);
+        this.relayed = Counter.builder("notes.audit.relayed")
+                .description("Audit records moved to the audit log")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("notes.audit.rejections")
+                .description("Note mutations rejected because the audit outbox is full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains full batches back to back (up to max-batches-per-run, so other scheduled jobs
+     * get their turn), then samples backlog and lag. Each batch is its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${audit.outbox.drain-interval:1s}")
+    public void drain() {
+        int moved;
+        int batches = 0;
+        do {
+            moved = outboxRepository.moveToAuditLog(batchSize);
+            relayed.increment(moved);
+        } while (moved == batchSize && ++batches < maxBatchesPerRun);
+
+        backlog.set(outboxRepository.countPending());
+        LocalDateTime oldest = outboxRepository.findOldestOccurredAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+    }
+
+    /**
+     * Throws ServiceOverloadedException (503) while the backlog is at its limit.
+     */
+    public void checkCapacity() {
+        if (backlog.get() >= maxBacklog) {
+            rejected.increment();
+            throw new ServiceOverloadedException(
+                    "Service is temporarily busy. Please retry shortly.", retryAfter);
+        }
+    }
+}
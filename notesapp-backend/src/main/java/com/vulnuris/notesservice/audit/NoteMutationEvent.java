@@ -0,0 +1,56 @@
+package com.vulnuris.notesservice.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by NoteServiceImpl for every note created, updated or deleted, inside the
+ * mutating transaction. Synchronous listeners run in that transaction and are rolled
+ * back with it.
+ */
+public class NoteMutationEvent {
+
+    public enum Action {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Action action;
+    private final Long noteId;
+    private final Long tenantId;
+    private final Long actorId;
+    // Note version after the change; null for deletions
+    private final Long noteVersion;
+    private final LocalDateTime occurredAt;
+
+    public NoteMutationEvent(Action action, Long noteId, Long tenantId, Long actorId, Long noteVersion) {
+        this.action = action;
+        this.noteId = noteId;
+        this.tenantId = tenantId;
+        this.actorId = actorId;
+        this.noteVersion = noteVersion;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public Long getNoteVersion() {
+        return noteVersion;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,76 @@
+package com.vulnuris.notesservice.config;
+
+import com.vulnuris.notesservice.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read/write splitting across a primary and PostgreSQL streaming replicas.
+ *
+ * Only active with datasource.replicas.enabled=true; otherwise Spring Boot's single
+ * spring.datasource pool is used unchanged. The primary pool is configured exactly like the
+ * default one (spring.datasource.*); replica pools copy its credentials and pool settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replicas.urls:}") String replicaUrls,
+            @Value("${datasource.replicas.pool-size:10}") int replicaPoolSize,
+            @Value("${datasource.replicas.primary-pin:5s}") Duration primaryPin
+    ) {
+        List<DataSource> replicas = new ArrayList<>();
+        List<String> urls = Arrays.stream(replicaUrls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.add(replicaDataSource(primaryDataSource, urls.get(i), "replica-" + i, replicaPoolSize, meterRegistry));
+        }
+        // Lazy proxy: the physical connection is chosen on first use, after the read-only flag is known
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicas, primaryPin));
+    }
+
+    private static HikariDataSource replicaDataSource(HikariDataSource primary, String url, String poolName,
+                                                      int poolSize, MeterRegistry meterRegistry) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName(poolName);
+        replica.setJdbcUrl(url);
+        replica.setUsername(primary.getUsername());
+        replica.setPassword(primary.getPassword());
+        replica.setDriverClassName(primary.getDriverClassName());
+        replica.setMaximumPoolSize(poolSize);
+        replica.setMinimumIdle(Math.min(primary.getMinimumIdle(), poolSize));
+        replica.setConnectionTimeout(primary.getConnectionTimeout());
+        replica.setDataSourceProperties(primary.getDataSourceProperties());
+        replica.setReadOnly(true);
+        // Same hikaricp.* metrics as the primary pool, tagged pool=replica-N
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return replica;
+    }
+}
@@ -0,0 +1,84 @@
+package com.vulnuris.notesservice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.vulnuris.notesservice.model.Note;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache regions.
+ *
+ * Regions live in a JCache CacheManager (Caffeine, in-process) built here from
+ * application.yaml, so each region is bounded in size and age:
+ * - "tenant": Tenant entities, always on (read on nearly every write, rarely changed)
+ * - "note": Note entities, opt-in with notes.entity-cache.enabled
+ *
+ * Both use the read-write strategy, so entity updates and deletes through Hibernate keep
+ * the cache consistent. With the note region on, notes are only written as entities
+ * (NoteServiceImpl#updateNote switches away from its native UPDATE).
+ *
+ * The note region cannot be combined with read replicas (datasource.replicas.enabled): a
+ * read on a lagging replica would re-cache a note's old version, which would then be served
+ * to everyone, the writer included, until it expires. Startup fails with both enabled.
+ * Moving to several instances means swapping the JCache provider for a clustered one
+ * that replicates invalidations; the regions and strategies stay the same.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final String TENANT_REGION = "tenant";
+    private static final String NOTE_REGION = "note";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${tenant.entity-cache.max-size:10000}") long tenantMaxSize,
+            @Value("${tenant.entity-cache.ttl:10m}") Duration tenantTtl,
+            @Value("${notes.entity-cache.enabled:false}") boolean noteCacheEnabled,
+            @Value("${notes.entity-cache.max-size:10000}") long noteMaxSize,
+            @Value("${notes.entity-cache.ttl:10m}") Duration noteTtl,
+            @Value("${datasource.replicas.enabled:false}") boolean replicasEnabled
+    ) {
+        if (noteCacheEnabled && replicasEnabled) {
+            throw new IllegalStateException(
+                    "NOTES_ENTITY_CACHE_ENABLED cannot be combined with DB_REPLICAS_ENABLED: " +
+                    "notes read from a lagging replica would be cached and served after newer writes");
+        }
+        // Own provider instance: not shared with (or closed by) anything else in the JVM
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        cacheManager.createCache(TENANT_REGION, region(tenantMaxSize, tenantTtl));
+        if (noteCacheEnabled) {
+            cacheManager.createCache(NOTE_REGION, region(noteMaxSize, noteTtl));
+        }
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(
+            CacheManager hibernateCacheManager,
+            @Value("${notes.entity-cache.enabled:false}") boolean noteCacheEnabled
+    ) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            if (noteCacheEnabled) {
+                // Same effect as @Cache(usage = READ_WRITE, region = "note") on Note, but switchable
+                properties.put("hibernate.classcache." + Note.class.getName(), "read-write," + NOTE_REGION);
+            }
+        };
+    }
+}
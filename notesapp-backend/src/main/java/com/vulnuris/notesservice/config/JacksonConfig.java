@@ -0,0 +1,20 @@
+package com.vulnuris.notesservice.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson customization. Spring Boot registers Module beans with the application ObjectMapper.
+ */
+@Configuration
+public class JacksonConfig {
+
+    // Replaces reflective getter/setter/constructor calls with generated lambdas, once per
+    // property when the (cached) serializer is built - cheaper list and export serialization
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
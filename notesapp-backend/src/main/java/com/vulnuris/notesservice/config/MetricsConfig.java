@@ -0,0 +1,52 @@
+package com.vulnuris.notesservice.config;
+
+import com.vulnuris.notesservice.tenant.TenantRequestMetricsFilter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on Spring beans (e.g. NoteServiceImpl)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Bounds the cardinality of the per-tenant request metric: the first N tenants seen keep
+     * their own series, any further tenant is folded into tenant="other".
+     */
+    @Bean
+    public MeterFilter tenantTagLimit(@Value("${metrics.tenant.max-tagged-tenants:100}") int maxTaggedTenants) {
+        Set<String> taggedTenants = ConcurrentHashMap.newKeySet();
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                if (!id.getName().equals(TenantRequestMetricsFilter.METRIC_NAME)) {
+                    return id;
+                }
+                String tenant = id.getTag(TenantRequestMetricsFilter.TENANT_TAG);
+                if (tenant == null || taggedTenants.contains(tenant)) {
+                    return id;
+                }
+                // Racing threads may overshoot the limit by a few entries, which is harmless
+                if (taggedTenants.size() < maxTaggedTenants) {
+                    taggedTenants.add(tenant);
+                    return id;
+                }
+                // Replaces the existing tenant tag (tags are unique by key)
+                return id.withTag(Tag.of(TenantRequestMetricsFilter.TENANT_TAG, "other"));
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.vulnuris.notesservice.config;
+
+import com.vulnuris.notesservice.migration.ConcurrentIndexMigration;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Java-based Flyway migrations. Spring Boot registers JavaMigration beans with Flyway
+ * alongside the SQL migrations in classpath:db/migration.
+ */
+@Configuration
+public class MigrationConfig {
+
+    // Seeds the FREE plan usage counter: count(*) WHERE tenant_id = ? AND created_by = ?
+    @Bean
+    public JavaMigration noteCreatorIndexMigration() {
+        return new ConcurrentIndexMigration("2", "idx_notes_tenant_created_by", "notes", "tenant_id, created_by");
+    }
+
+    // Relay drains the audit outbox oldest first and samples min(occurred_at) for its lag gauge
+    @Bean
+    public JavaMigration auditOutboxOccurredAtIndexMigration() {
+        return new ConcurrentIndexMigration("5", "idx_note_audit_outbox_occurred_at", "note_audit_outbox", "occurred_at, id");
+    }
+
+    // Keyset pagination of the note listing: tenant_id = ? ORDER BY updated_at DESC, id DESC
+    @Bean
+    public JavaMigration noteListingIndexMigration() {
+        return new ConcurrentIndexMigration("6", "idx_notes_tenant_updated_id", "notes", "tenant_id, updated_at, id");
+    }
+
+    // Full-text search over the generated search_vector column (V1)
+    @Bean
+    public JavaMigration noteSearchIndexMigration() {
+        return new ConcurrentIndexMigration("7", "idx_notes_search_vector", "notes", "search_vector", "gin");
+    }
+}
@@ -1,13 +1,23 @@
 package com.vulnuris.notesservice.config;
 
+import com.vulnuris.notesservice.admission.TenantAdmissionFilter;
+import com.vulnuris.notesservice.admission.TenantAdmissionService;
 import com.vulnuris.notesservice.security.JwtAuthFilter;
-import com.vulnuris.notesservice.security.JwtUtil;
+import com.vulnuris.notesservice.security.JwtVerificationCache;
+import com.vulnuris.notesservice.tenant.TenantRequestMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -21,13 +31,51 @@ import java.util.List;
 @EnableMethodSecurity  // Enable @PreAuthorize and other method-level security annotations
 public class SecurityConfig {
 
-    private final JwtUtil jwtUtil;
+    private final JwtVerificationCache jwtVerificationCache;
+    private final MeterRegistry meterRegistry;
+    private final TenantAdmissionService admissionService;
 
     @Value("${cors.allowed-origins:http://localhost:5173}")
     private String allowedOrigins;
 
-    public SecurityConfig(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public SecurityConfig(JwtVerificationCache jwtVerificationCache, MeterRegistry meterRegistry,
+                          TenantAdmissionService admissionService) {
+        this.jwtVerificationCache = jwtVerificationCache;
+        this.meterRegistry = meterRegistry;
+        this.admissionService = admissionService;
+    }
+
+    /**
+     * /actuator/prometheus: HTTP basic auth with a dedicated scrape account (metrics include
+     * tenant ids and traffic). Denied to everyone while no scrape password is configured.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(
+            HttpSecurity http,
+            @Value("${metrics.scrape.username:prometheus}") String scrapeUsername,
+            @Value("${metrics.scrape.password:}") String scrapePassword
+    ) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.to("prometheus"))
+                .csrf(csrf -> csrf.disable())
+                .formLogin(form -> form.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults())
+                .authorizeHttpRequests(auth -> {
+                    if (scrapePassword.isBlank()) {
+                        auth.anyRequest().denyAll();
+                    } else {
+                        auth.anyRequest().hasRole("METRICS");
+                    }
+                });
+        if (!scrapePassword.isBlank()) {
+            http.userDetailsService(new InMemoryUserDetailsManager(User.withUsername(scrapeUsername)
+                    .password("{noop}" + scrapePassword)
+                    .roles("METRICS")
+                    .build()));
+        }
+        return http.build();
     }
 
     @Bean
@@ -40,7 +88,11 @@ public class SecurityConfig {
                 .formLogin(form -> form.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (streamed responses) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/auth/**").permitAll()
+                        // Liveness/readiness probes; other actuator endpoints need a token
+                        .requestMatchers(EndpointRequest.to("health")).permitAll()
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(exceptions -> exceptions
@@ -55,7 +107,10 @@ public class SecurityConfig {
                             response.getWriter().write("{\"error\": \"Forbidden\"}");
                         })
                 )
-                .addFilterBefore(new JwtAuthFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtAuthFilter(jwtVerificationCache, meterRegistry), UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new TenantRequestMetricsFilter(meterRegistry), JwtAuthFilter.class)
+                // Inside the metrics filter, so 429s show up in the per-tenant request metrics
+                .addFilterAfter(new TenantAdmissionFilter(admissionService), TenantRequestMetricsFilter.class);
 
         return http.build();
     }
@@ -70,6 +125,8 @@ public class SecurityConfig {
 
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // Let browser clients read validators for conditional requests
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Last-Modified", "Retry-After"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
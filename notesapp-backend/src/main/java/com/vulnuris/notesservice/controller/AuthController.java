@@ -9,23 +9,41 @@ import com.vulnuris.notesservice.model.User;
 import com.vulnuris.notesservice.repository.TenantRepository;
 import com.vulnuris.notesservice.repository.UserRepository;
 import com.vulnuris.notesservice.security.JwtUtil;
+import com.vulnuris.notesservice.security.PasswordHasher;
+import com.vulnuris.notesservice.tenant.TenantCache;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
     private final UserRepository userRepository;
     private final TenantRepository tenantRepository;
+    private final TenantCache tenantCache;
     private final JwtUtil jwtUtil;
-
-    public AuthController(UserRepository userRepository, TenantRepository tenantRepository, JwtUtil jwtUtil) {
+    private final PasswordHasher passwordHasher;
+    // Runs the database work that follows hashing, so hasher threads never wait on JDBC
+    private final Executor taskExecutor;
+
+    public AuthController(UserRepository userRepository, TenantRepository tenantRepository,
+                          TenantCache tenantCache, JwtUtil jwtUtil, PasswordHasher passwordHasher,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                          Executor taskExecutor) {
         this.userRepository = userRepository;
         this.tenantRepository = tenantRepository;
+        this.tenantCache = tenantCache;
         this.jwtUtil = jwtUtil;
+        this.passwordHasher = passwordHasher;
+        this.taskExecutor = taskExecutor;
     }
 
     /**
@@ -37,14 +55,27 @@ public class AuthController {
      *
      * All Tenant 1 users are PRO and ADMIN.
      * In production, this would use cryptographically signed invitation tokens.
+     *
+     * The password is hashed on the password hasher pool; the request thread is released
+     * meanwhile. Returns 503 when the pool is saturated. Creating the user then runs on the
+     * application task executor, keeping the hasher pool free of database work.
+     *
+     * The up-front email check only saves hashing for obvious duplicates. The unique
+     * constraint on email is what actually prevents them, so concurrent registrations
+     * of the same email still get exactly one account.
      */
     @PostMapping("/register")
-    public ResponseEntity<String> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<String>> register(@Valid @RequestBody RegisterRequest request) {
         // Check if email already exists
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Email already registered");
+        if (userRepository.existsByEmail(request.getEmail())) {
+            return CompletableFuture.completedFuture(emailAlreadyRegistered());
         }
 
+        return passwordHasher.hash(request.getPassword())
+                .thenApplyAsync(passwordHash -> createUser(request, passwordHash), taskExecutor);
+    }
+
+    private ResponseEntity<String> createUser(RegisterRequest request, String passwordHash) {
         // Controlled tenant assignment via invite code
         Tenant tenant;
         Role userRole;
@@ -62,12 +93,17 @@ public class AuthController {
         // Create new user
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPassword(request.getPassword()); // In production, hash with BCryptPasswordEncoder
+        user.setPassword(passwordHash);
         user.setTenantId(tenant.getId()); // Use the actual tenant ID from database
         user.setRole(userRole);
 
-        // Save user
-        user = userRepository.save(user);
+        // Save user (the insert runs immediately, so a duplicate email fails here)
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            // Lost a race with a concurrent registration of the same email
+            return emailAlreadyRegistered();
+        }
 
         // Generate JWT token for immediate login
         String token = jwtUtil.generateToken(
@@ -79,38 +115,63 @@ public class AuthController {
         return ResponseEntity.ok(token);
     }
 
+    private ResponseEntity<String> emailAlreadyRegistered() {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Email already registered");
+    }
+
     /**
      * Gets an existing tenant by name or creates a new one if it doesn't exist.
      * Returns the tenant with its actual database-generated ID.
+     *
+     * Served from the tenant cache, so registrations don't query the tenants table. When
+     * two requests create the same tenant at once, the unique name constraint lets one
+     * insert win and the other picks up its row.
      */
     private Tenant getOrCreateTenant(String name, SubscriptionPlan plan) {
-        return tenantRepository.findByName(name)
+        return tenantCache.findByName(name)
                 .orElseGet(() -> {
                     Tenant tenant = new Tenant();
                     tenant.setName(name);
                     tenant.setSubscriptionPlan(plan);
-                    return tenantRepository.save(tenant);
+                    try {
+                        tenant = tenantRepository.save(tenant);
+                    } catch (DataIntegrityViolationException ex) {
+                        tenant = tenantRepository.findByName(name).orElseThrow(() -> ex);
+                    }
+                    tenantCache.put(tenant);
+                    return tenant;
                 });
     }
 
     /**
      * Login endpoint with password validation.
      *
-     * Note: Plain text password comparison is used for assignment simplicity.
-     * In production, use BCryptPasswordEncoder.matches() with hashed passwords.
+     * The password is verified on the password hasher pool (503 when saturated). Outdated
+     * stored hashes - legacy plain text or a lower bcrypt strength - are replaced on success.
+     * Everything after the verification runs on the application task executor, like register.
      */
     @PostMapping("/login")
-    public ResponseEntity<String> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<String>> login(@Valid @RequestBody LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElse(null);
 
-        // Validate user exists and password matches (plain text comparison for assignment)
-        if (user == null || !user.getPassword().equals(request.getPassword())) {
+        // Unknown emails are verified against a dummy hash, so they take as long as wrong passwords
+        return passwordHasher.verify(request.getPassword(), user == null ? null : user.getPassword())
+                .thenApplyAsync(verification -> completeLogin(user, verification), taskExecutor);
+    }
+
+    private ResponseEntity<String> completeLogin(User user, PasswordHasher.Verification verification) {
+        if (!verification.matches()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
         }
 
+        if (verification.upgradedHash() != null) {
+            user.setPassword(verification.upgradedHash());
+            user = userRepository.save(user);
+        }
+
         // Check if user's tenant still exists (handles stale tenant references after DB reset)
-        if (!tenantRepository.existsById(user.getTenantId())) {
+        if (!tenantCache.existsById(user.getTenantId())) {
             // User's tenant was deleted (DB reset) - reassign to correct tenant based on role
             Tenant tenant;
             if (user.getRole() == Role.ADMIN) {
@@ -1,46 +1,272 @@
 package com.vulnuris.notesservice.controller;
 
+import com.vulnuris.notesservice.dto.CursorPage;
+import com.vulnuris.notesservice.dto.NoteBatchRequest;
+import com.vulnuris.notesservice.dto.NoteBatchResponse;
+import com.vulnuris.notesservice.dto.NoteChanges;
+import com.vulnuris.notesservice.dto.NoteResponse;
+import com.vulnuris.notesservice.dto.NoteSearchHit;
+import com.vulnuris.notesservice.dto.NoteSummary;
+import com.vulnuris.notesservice.dto.NotesFreshness;
+import com.vulnuris.notesservice.exception.InvalidRequestException;
+import com.vulnuris.notesservice.exception.PreconditionFailedException;
 import com.vulnuris.notesservice.model.Note;
 import com.vulnuris.notesservice.service.NoteService;
+import com.vulnuris.notesservice.stream.NoteEventHub;
+import com.vulnuris.notesservice.tenant.TenantContext;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/notes")
 public class NoteController {
 
+    // Clients may cache note responses but must revalidate (conditional GET) before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final NoteService noteService;
+    private final NoteEventHub noteEventHub;
 
-    public NoteController(NoteService noteService) {
+    public NoteController(NoteService noteService, NoteEventHub noteEventHub) {
         this.noteService = noteService;
+        this.noteEventHub = noteEventHub;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Note createNote(@Valid @RequestBody Note note) {
-        return noteService.createNote(note);
+    public NoteResponse createNote(@Valid @RequestBody Note note) {
+        return NoteResponse.from(noteService.createNote(note));
     }
 
+    /**
+     * Apply many create/update/delete operations in a single request and transaction.
+     *
+     * Each operation gets its own result; a failing operation does not affect the others.
+     * DELETE operations require the ADMIN role, like the single-note endpoint.
+     */
+    @PostMapping("/batch")
+    public NoteBatchResponse applyBatch(@Valid @RequestBody NoteBatchRequest request) {
+        return noteService.applyBatch(request.getOperations());
+    }
+
+    /**
+     * List the tenant's notes one page at a time, newest first.
+     *
+     * Returns summaries (title plus a short content preview). Pass the returned
+     * nextCursor as ?cursor= to fetch the following page.
+     */
     @GetMapping
-    public List<Note> getAllNotes() {
-        return noteService.getAllNotes();
+    public ResponseEntity<CursorPage<NoteSummary>> getNotes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request
+    ) {
+        return noteService.withNotesFreshness(freshness -> {
+            if (request.checkNotModified(listETag("page", cursor, limit, freshness))) {
+                return null;
+            }
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(noteService.getNotes(cursor, limit));
+        });
+    }
+
+    /**
+     * Legacy unbounded listing with full note content.
+     *
+     * Only served when the caller explicitly opts in with ?all=true, since it loads
+     * every note of the tenant into a single response.
+     */
+    @GetMapping(params = "all=true")
+    public ResponseEntity<List<NoteResponse>> getAllNotes(WebRequest request) {
+        return noteService.withNotesFreshness(freshness -> {
+            if (request.checkNotModified(listETag("all", null, 0, freshness))) {
+                return null;
+            }
+            List<NoteResponse> notes = noteService.getAllNotes().stream().map(NoteResponse::from).toList();
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(notes);
+        });
+    }
+
+    /**
+     * Delta sync: notes created, updated or deleted since the client's last sync cursor.
+     *
+     * Omit 'since' for an initial full sync. Returns 410 Gone when the cursor is older than
+     * the tombstone retention window; the client must then resync from scratch.
+     */
+    @GetMapping("/changes")
+    public NoteChanges getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return noteService.getChanges(since, limit);
+    }
+
+    /**
+     * Live note changes of the tenant as Server-Sent Events, instead of polling the list.
+     *
+     * Emits created/updated/deleted events (note id, version, acting user) after each change
+     * commits, plus periodic heartbeat comments. Events missed while disconnected are not
+     * replayed: on reconnect, catch up with /changes. The first event ("sync") carries a
+     * /changes cursor, so clients can fetch announced changes in bulk instead of one note at
+     * a time. Returns 503 with Retry-After when the tenant has too many open streams.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges() {
+        return noteEventHub.subscribe(TenantContext.getTenantId(), noteService.getChangesCursor())
+                .map(emitter -> ResponseEntity.ok()
+                        // Tell reverse proxies (nginx) not to buffer the stream
+                        .header("X-Accel-Buffering", "no")
+                        .body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build());
+    }
+
+    /**
+     * Full-text search across the tenant's notes, best matches first.
+     *
+     * Supports web-search syntax: quoted phrases, OR, and -excluded terms.
+     * Results are paginated like the listing (pass nextCursor as ?cursor=).
+     */
+    @GetMapping("/search")
+    public CursorPage<NoteSearchHit> searchNotes(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return noteService.searchNotes(q, cursor, limit);
+    }
+
+    /**
+     * Export every note of the tenant as newline-delimited JSON (one note per line).
+     *
+     * The response is streamed from a database cursor, so it works for tenants of any size.
+     * With ?gzip=true the stream is gzip-compressed and served as a .ndjson.gz download.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportNotes(
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        // Capture the tenant now - the body is written later on an async thread
+        Long tenantId = TenantContext.getTenantId();
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                noteService.exportNotes(tenantId, gzipOut);
+                gzipOut.finish();
+            } else {
+                noteService.exportNotes(tenantId, out);
+            }
+        };
+
+        String filename = "notes-export-tenant-" + tenantId + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 
+    /**
+     * Get a single note.
+     *
+     * Supports conditional requests: the ETag is derived from the note's id and version and
+     * Last-Modified from updatedAt, both taken from the loaded note, so they always describe
+     * the body. A matching If-None-Match / If-Modified-Since gets a 304 without serializing it.
+     */
     @GetMapping("/{id}")
-    public Note getNoteById(@PathVariable Long id) {
-        return noteService.getNoteById(id);
+    public ResponseEntity<NoteResponse> getNoteById(@PathVariable Long id, WebRequest request) {
+        Note note = noteService.getNoteById(id);
+        if (request.checkNotModified(noteETag(id, note.getVersion()), toEpochMillis(note.getUpdatedAt()))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(NoteResponse.from(note));
     }
 
+    /**
+     * Update a note's title and content.
+     *
+     * Send the ETag from a previous GET as If-Match to make the update conditional: if the
+     * note changed since then, nothing is written and 412 Precondition Failed is returned.
+     * Without If-Match (or with If-Match: *) the update is unconditional.
+     */
     @PutMapping("/{id}")
-    public Note updateNote(
+    public ResponseEntity<NoteResponse> updateNote(
             @PathVariable Long id,
-            @Valid @RequestBody Note note
+            @Valid @RequestBody Note note,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        return noteService.updateNote(id, note);
+        Note updated = noteService.updateNote(id, note, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(noteETag(updated.getId(), updated.getVersion())).body(NoteResponse.from(updated));
+    }
+
+    // Strong validator for one note: changes with every update. It has to stay strong for
+    // If-Match, so single-note responses are not gzipped by Tomcat.
+    private static String noteETag(Long id, Long version) {
+        return "\"" + id + "." + version + "\"";
+    }
+
+    // Version named by an If-Match header, or null for an unconditional update. A tag that
+    // cannot belong to the current representation (weak, other note, malformed) can never
+    // match, so it fails the precondition rather than the request.
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.contains(",")) {
+            throw new InvalidRequestException("If-Match must contain a single entity tag");
+        }
+        String prefix = "\"" + id + ".";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            throw new PreconditionFailedException("Note has been modified by someone else. Reload it and try again.");
+        }
+        try {
+            return Long.valueOf(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("Note has been modified by someone else. Reload it and try again.");
+        }
+    }
+
+    // Validator for a listing response: the tenant's count/max(updatedAt) probe, read in the
+    // page's snapshot, plus the request parameters that shape the page. Deliberately no
+    // Last-Modified, since a delete changes the listing without moving max(updatedAt). Weak,
+    // because Tomcat only gzips responses without a strong ETag (the compressed bytes differ);
+    // If-None-Match compares weakly anyway.
+    private static String listETag(String view, String cursor, int limit, NotesFreshness freshness) {
+        String key = TenantContext.getTenantId() + "|" + view + "|" + cursor + "|" + limit + "|" +
+                freshness.getCount() + "|" + toEpochMicros(freshness.getLastUpdatedAt());
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
     }
 
     /**
@@ -1,13 +1,21 @@
 package com.vulnuris.notesservice.controller;
 
+import com.vulnuris.notesservice.dto.UserImportResponse;
+import com.vulnuris.notesservice.exception.InvalidRequestException;
 import com.vulnuris.notesservice.model.SubscriptionPlan;
 import com.vulnuris.notesservice.model.Tenant;
+import com.vulnuris.notesservice.onboarding.UserImportService;
 import com.vulnuris.notesservice.repository.TenantRepository;
+import com.vulnuris.notesservice.tenant.TenantCache;
 import com.vulnuris.notesservice.tenant.TenantContext;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 /**
  * Controller for tenant management operations.
  *
@@ -19,9 +27,14 @@ import org.springframework.web.bind.annotation.*;
 public class TenantController {
 
     private final TenantRepository tenantRepository;
+    private final TenantCache tenantCache;
+    private final UserImportService userImportService;
 
-    public TenantController(TenantRepository tenantRepository) {
+    public TenantController(TenantRepository tenantRepository, TenantCache tenantCache,
+                            UserImportService userImportService) {
         this.tenantRepository = tenantRepository;
+        this.tenantCache = tenantCache;
+        this.userImportService = userImportService;
     }
 
     /**
@@ -50,7 +63,36 @@ public class TenantController {
         tenant.setSubscriptionPlan(SubscriptionPlan.PRO);
         tenantRepository.save(tenant);
 
+        // Drop the cached plan so the upgrade applies to the very next note write
+        tenantCache.invalidate(tenantId);
+
         return ResponseEntity.ok("Tenant successfully upgraded to PRO plan");
     }
-}
 
+    /**
+     * Bulk-import users into the current tenant.
+     *
+     * ADMIN only endpoint. The body is CSV (Content-Type: text/csv, with an
+     * email,password[,role] header) or NDJSON (application/x-ndjson). Passwords may be plain
+     * text or {bcrypt} hashes; pre-hashed files import much faster.
+     *
+     * @return Number of imported users and the rows that failed, by line number
+     */
+    @PostMapping(value = "/users/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserImportResponse importUsers(HttpServletRequest request) throws IOException {
+        Long tenantId = TenantContext.getTenantId();
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        if (contentType.getCharset() == null) {
+            request.setCharacterEncoding("UTF-8");
+        }
+
+        if (contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            return userImportService.importNdjson(request.getReader(), tenantId);
+        }
+        if (contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+            return userImportService.importCsv(request.getReader(), tenantId);
+        }
+        throw new InvalidRequestException("Unsupported content type: " + contentType);
+    }
+}
@@ -0,0 +1,32 @@
+package com.vulnuris.notesservice.dto;
+
+import java.util.List;
+
+/**
+ * A single page of a keyset-paginated result.
+ *
+ * nextCursor is an opaque token to pass back as ?cursor= for the following page,
+ * or null when there are no more results.
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.vulnuris.notesservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A single operation inside a batch request.
+ *
+ * - CREATE: title and content are required, id is ignored
+ * - UPDATE: id, title and content are required
+ * - DELETE: id is required (ADMIN only)
+ */
+public class NoteBatchOperation {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    @NotNull(message = "Operation type is required")
+    private Type op;
+
+    private Long id;
+
+    private String title;
+
+    private String content;
+
+    public Type getOp() {
+        return op;
+    }
+
+    public void setOp(Type op) {
+        this.op = op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+}
@@ -0,0 +1,23 @@
+package com.vulnuris.notesservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Batch of mixed create/update/delete operations, applied in order in one transaction.
+ */
+public class NoteBatchRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    private List<@Valid NoteBatchOperation> operations;
+
+    public List<NoteBatchOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<NoteBatchOperation> operations) {
+        this.operations = operations;
+    }
+}
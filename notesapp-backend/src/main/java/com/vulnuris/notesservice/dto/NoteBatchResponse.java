@@ -0,0 +1,31 @@
+package com.vulnuris.notesservice.dto;
+
+import java.util.List;
+
+/**
+ * Per-operation results of a batch request, in request order.
+ */
+public class NoteBatchResponse {
+
+    private final List<NoteBatchResult> results;
+    private final int succeeded;
+    private final int failed;
+
+    public NoteBatchResponse(List<NoteBatchResult> results) {
+        this.results = results;
+        this.succeeded = (int) results.stream().filter(NoteBatchResult::isSuccess).count();
+        this.failed = results.size() - succeeded;
+    }
+
+    public List<NoteBatchResult> getResults() {
+        return results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,56 @@
+package com.vulnuris.notesservice.dto;
+
+/**
+ * Outcome of one batch operation.
+ *
+ * status mirrors the HTTP status the equivalent single-note request would return
+ * (201, 200, 204, 400, 403 or 404). error is only set for failed operations.
+ */
+public class NoteBatchResult {
+
+    private final int index;
+    private final NoteBatchOperation.Type op;
+    private final Long id;
+    private final int status;
+    private final String error;
+
+    private NoteBatchResult(int index, NoteBatchOperation.Type op, Long id, int status, String error) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static NoteBatchResult success(int index, NoteBatchOperation.Type op, Long id, int status) {
+        return new NoteBatchResult(index, op, id, status, null);
+    }
+
+    public static NoteBatchResult failure(int index, NoteBatchOperation.Type op, Long id, int status, String error) {
+        return new NoteBatchResult(index, op, id, status, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public NoteBatchOperation.Type getOp() {
+        return op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
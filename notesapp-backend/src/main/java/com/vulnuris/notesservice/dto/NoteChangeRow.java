@@ -0,0 +1,16 @@
+package com.vulnuris.notesservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the tenant's change feed: a note that was created/updated or deleted
+ * at changedAt. Projection over the notes / note_tombstones union.
+ */
+public interface NoteChangeRow {
+
+    Long getNoteId();
+
+    LocalDateTime getChangedAt();
+
+    Boolean getDeleted();
+}
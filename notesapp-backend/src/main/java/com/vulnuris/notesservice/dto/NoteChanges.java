@@ -0,0 +1,41 @@
+package com.vulnuris.notesservice.dto;
+
+import java.util.List;
+
+/**
+ * A page of the delta sync feed.
+ *
+ * upserts holds the current state of notes created or updated since the cursor, deletions
+ * the ids of notes deleted since then. nextCursor is always set; store it and pass it back
+ * as ?since= on the next sync. When hasMore is true, call again right away.
+ */
+public class NoteChanges {
+
+    private final List<NoteResponse> upserts;
+    private final List<Long> deletions;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public NoteChanges(List<NoteResponse> upserts, List<Long> deletions, String nextCursor, boolean hasMore) {
+        this.upserts = upserts;
+        this.deletions = deletions;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<NoteResponse> getUpserts() {
+        return upserts;
+    }
+
+    public List<Long> getDeletions() {
+        return deletions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
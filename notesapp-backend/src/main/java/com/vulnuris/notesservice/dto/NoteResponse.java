@@ -0,0 +1,66 @@
+package com.vulnuris.notesservice.dto;
+
+import com.vulnuris.notesservice.model.Note;
+
+import java.time.LocalDateTime;
+
+/**
+ * A full note as returned by the API.
+ *
+ * Decouples the JSON contract from the JPA entity. The tenant id is left out: it is
+ * always the caller's own tenant.
+ */
+public class NoteResponse {
+
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final Long createdBy;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long version;
+
+    public NoteResponse(Long id, String title, String content, Long createdBy,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.createdBy = createdBy;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    public static NoteResponse from(Note note) {
+        return new NoteResponse(note.getId(), note.getTitle(), note.getContent(), note.getCreatedBy(),
+                note.getCreatedAt(), note.getUpdatedAt(), note.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public Long getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,19 @@
+package com.vulnuris.notesservice.dto;
+
+/**
+ * One full-text search result (projection over a native query).
+ *
+ * snippet is an excerpt of the content with matched terms wrapped in &lt;mark&gt;...&lt;/mark&gt;.
+ * The note text in it is HTML-escaped (&amp;, &lt;, &gt;), so the snippet can be rendered as
+ * HTML; the mark tags are its only markup.
+ */
+public interface NoteSearchHit {
+
+    Long getId();
+
+    String getTitle();
+
+    String getSnippet();
+
+    Float getRank();
+}
@@ -0,0 +1,53 @@
+package com.vulnuris.notesservice.dto;
+
+import com.vulnuris.notesservice.audit.NoteMutationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data of a note change pushed on GET /api/notes/stream. Carries no note content: clients
+ * fetch the note (or use the change feed) when they need it.
+ */
+public class NoteStreamEvent {
+
+    private final NoteMutationEvent.Action action;
+    private final Long noteId;
+    // Note version after the change; null for deletions
+    private final Long version;
+    private final Long actorId;
+    private final LocalDateTime occurredAt;
+
+    public NoteStreamEvent(NoteMutationEvent.Action action, Long noteId, Long version, Long actorId,
+                           LocalDateTime occurredAt) {
+        this.action = action;
+        this.noteId = noteId;
+        this.version = version;
+        this.actorId = actorId;
+        this.occurredAt = occurredAt;
+    }
+
+    public static NoteStreamEvent from(NoteMutationEvent event) {
+        return new NoteStreamEvent(event.getAction(), event.getNoteId(), event.getNoteVersion(),
+                event.getActorId(), event.getOccurredAt());
+    }
+
+    public NoteMutationEvent.Action getAction() {
+        return action;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,46 @@
+package com.vulnuris.notesservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of a note used by the paginated listing.
+ *
+ * Only a short preview of the content is selected from the database,
+ * so listing a page never pulls full TEXT bodies into memory.
+ */
+public class NoteSummary {
+
+    private final Long id;
+    private final String title;
+    private final String preview;
+    private final Long createdBy;
+    private final LocalDateTime updatedAt;
+
+    public NoteSummary(Long id, String title, String preview, Long createdBy, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.preview = preview;
+        this.createdBy = createdBy;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getPreview() {
+        return preview;
+    }
+
+    public Long getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.vulnuris.notesservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap change probe for a tenant's note collection: row count plus latest update time.
+ *
+ * Any create or update moves lastUpdatedAt forward and any delete lowers the count,
+ * so the pair changes whenever the listing would.
+ */
+public class NotesFreshness {
+
+    private final long count;
+    private final LocalDateTime lastUpdatedAt;
+
+    public NotesFreshness(long count, LocalDateTime lastUpdatedAt) {
+        this.count = count;
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+}
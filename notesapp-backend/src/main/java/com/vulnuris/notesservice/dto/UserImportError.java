@@ -0,0 +1,29 @@
+package com.vulnuris.notesservice.dto;
+
+/**
+ * A row that was not imported. line is the 1-based line number in the uploaded file.
+ */
+public class UserImportError {
+
+    private final long line;
+    private final String email;
+    private final String error;
+
+    public UserImportError(long line, String email, String error) {
+        this.line = line;
+        this.email = email;
+        this.error = error;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,31 @@
+package com.vulnuris.notesservice.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk user import. Only failed rows are listed, in file order.
+ */
+public class UserImportResponse {
+
+    private final int imported;
+    private final int failed;
+    private final List<UserImportError> errors;
+
+    public UserImportResponse(int imported, List<UserImportError> errors) {
+        this.imported = imported;
+        this.failed = errors.size();
+        this.errors = errors;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<UserImportError> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,50 @@
+package com.vulnuris.notesservice.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One user in a bulk import (a CSV row or an NDJSON line).
+ *
+ * password is either plain text (hashed on import) or an existing {bcrypt} hash, which
+ * is stored as is. role defaults to MEMBER.
+ */
+public class UserImportRow {
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Invalid email format")
+    private String email;
+
+    @NotBlank(message = "Password is required")
+    @Size(min = 6, message = "Password must be at least 6 characters")
+    private String password;
+
+    @Pattern(regexp = "ADMIN|MEMBER", message = "Role must be ADMIN or MEMBER")
+    private String role;
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+}
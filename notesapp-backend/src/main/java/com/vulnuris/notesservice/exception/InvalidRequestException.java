@@ -0,0 +1,11 @@
+package com.vulnuris.notesservice.exception;
+
+/**
+ * Exception thrown when a request parameter is syntactically valid but cannot be used,
+ * for example a malformed or tampered pagination cursor.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
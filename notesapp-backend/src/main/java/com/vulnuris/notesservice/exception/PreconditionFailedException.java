@@ -0,0 +1,11 @@
+package com.vulnuris.notesservice.exception;
+
+/**
+ * Exception thrown when a conditional request's precondition (e.g. If-Match) does not hold,
+ * typically because the resource was modified since the client last read it.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.vulnuris.notesservice.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the service sheds load because a backing resource is saturated.
+ * Mapped to 503 Service Unavailable with a Retry-After hint.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,11 @@
+package com.vulnuris.notesservice.exception;
+
+/**
+ * Exception thrown when a delta sync cursor is older than the tombstone retention window,
+ * so deletions since then may no longer be known. The client must do a full resync.
+ */
+public class SyncCursorExpiredException extends RuntimeException {
+    public SyncCursorExpiredException(String message) {
+        super(message);
+    }
+}
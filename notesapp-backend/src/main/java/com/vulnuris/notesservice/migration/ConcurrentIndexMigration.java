@@ -0,0 +1,154 @@
+package com.vulnuris.notesservice.migration;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flyway migration that adds an index (B-tree unless another access method is given)
+ * without blocking writes to the table.
+ *
+ * Plain tables get CREATE INDEX CONCURRENTLY. PostgreSQL cannot build an index on a
+ * partitioned table concurrently, so for those (see partition-notes-by-tenant.sql) the
+ * index is created on the partitioned tables only, built concurrently on each leaf
+ * partition and then attached.
+ *
+ * Runs outside a transaction and does nothing if a valid index of that name exists. A
+ * concurrent build that fails leaves an INVALID index behind; it is dropped and rebuilt
+ * when the migration is retried.
+ */
+public class ConcurrentIndexMigration implements JavaMigration {
+
+    private static final String BTREE = "btree";
+
+    private final MigrationVersion version;
+    private final String indexName;
+    private final String table;
+    private final String columns;
+    private final String method;
+
+    public ConcurrentIndexMigration(String version, String indexName, String table, String columns) {
+        this(version, indexName, table, columns, BTREE);
+    }
+
+    public ConcurrentIndexMigration(String version, String indexName, String table, String columns, String method) {
+        this.version = MigrationVersion.fromVersion(version);
+        this.indexName = indexName;
+        this.table = table;
+        this.columns = columns;
+        this.method = method;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getDescription() {
+        return "create index " + indexName;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        // B-tree checksums leave out the method, so applied migrations keep theirs
+        String definition = indexName + "|" + table + "|" + columns;
+        return (BTREE.equals(method) ? definition : definition + "|" + method).hashCode();
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (isValidIndex(connection, indexName)) {
+            return;
+        }
+
+        Map<String, String> indexByTable = new HashMap<>();
+
+        for (Relation relation : partitionTree(connection)) {
+            String index = relation.parent() == null ? indexName : indexName + "_" + relation.name();
+            indexByTable.put(relation.name(), index);
+
+            if (relation.leaf()) {
+                dropIfInvalid(connection, index);
+                execute(connection, "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index +
+                        " ON " + relation.name() + " USING " + method + " (" + columns + ")");
+            } else {
+                execute(connection, "CREATE INDEX IF NOT EXISTS " + index +
+                        " ON ONLY " + relation.name() + " USING " + method + " (" + columns + ")");
+            }
+
+            // No-op if already attached; the parent index turns valid once every partition is attached
+            if (relation.parent() != null) {
+                execute(connection, "ALTER INDEX " + indexByTable.get(relation.parent()) +
+                        " ATTACH PARTITION " + index);
+            }
+        }
+    }
+
+    // The table itself followed by its partitions, parents before children.
+    // pg_partition_tree returns nothing for a plain table, which is a tree with a single leaf.
+    private List<Relation> partitionTree(Connection connection) throws SQLException {
+        List<Relation> relations = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT c.relname, p.relname, t.isleaf " +
+                "FROM pg_partition_tree(?::regclass) t " +
+                "JOIN pg_class c ON c.oid = t.relid " +
+                "LEFT JOIN pg_class p ON p.oid = t.parentrelid " +
+                "ORDER BY t.level, c.relname")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    relations.add(new Relation(rs.getString(1), rs.getString(2), rs.getBoolean(3)));
+                }
+            }
+        }
+        return relations.isEmpty() ? List.of(new Relation(table, null, true)) : relations;
+    }
+
+    private void dropIfInvalid(Connection connection, String index) throws SQLException {
+        if (Boolean.FALSE.equals(indexValidity(connection, index))) {
+            execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + index);
+        }
+    }
+
+    private boolean isValidIndex(Connection connection, String index) throws SQLException {
+        return Boolean.TRUE.equals(indexValidity(connection, index));
+    }
+
+    // Whether the index is valid, or null if it does not exist
+    private Boolean indexValidity(Connection connection, String index) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+                "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace")) {
+            statement.setString(1, index);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getBoolean(1) : null;
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private record Relation(String name, String parent, boolean leaf) {
+    }
+}
@@ -1,7 +1,9 @@
 package com.vulnuris.notesservice.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.LocalDateTime;
 
@@ -9,8 +11,11 @@ import java.time.LocalDateTime;
 @Table(name = "notes")
 public class Note {
 
+    // Pooled sequence (50 ids per round trip) so Hibernate can batch inserts;
+    // IDENTITY would force one INSERT statement per note
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notes_seq")
+    @SequenceGenerator(name = "notes_seq", sequenceName = "notes_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title cannot be blank")
@@ -21,6 +26,9 @@ public class Note {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    // Added to the WHERE clause of entity updates and deletes, so they hit a single
+    // partition when notes is partitioned by tenant (see partition-notes-by-tenant.sql)
+    @PartitionKey
     @Column(nullable = false)
     private Long tenantId;
 
@@ -33,6 +41,12 @@ public class Note {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: bumped on every update, exposed to clients through the ETag
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -93,4 +107,8 @@ public class Note {
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,82 @@
+package com.vulnuris.notesservice.model;
+
+import com.vulnuris.notesservice.audit.NoteMutationEvent;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending audit record of a note mutation (transactional outbox).
+ *
+ * Written in the same transaction as the mutation, so an audit record exists exactly when
+ * the change committed. AuditOutboxRelay moves rows to the note_audit_log table in bulk.
+ */
+@Entity
+@Table(name = "note_audit_outbox")
+public class NoteAuditOutbox {
+
+    // Pooled sequence so the outbox rows of a batch request are inserted as one JDBC batch.
+    // Each instance takes its own block of ids, so ids do not follow insertion order across
+    // instances; the relay orders by occurredAt instead.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_audit_outbox_seq")
+    @SequenceGenerator(name = "note_audit_outbox_seq", sequenceName = "note_audit_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NoteMutationEvent.Action action;
+
+    @Column(nullable = false)
+    private Long noteId;
+
+    @Column(nullable = false)
+    private Long tenantId;
+
+    private Long actorId;
+
+    private Long noteVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    protected NoteAuditOutbox() {
+    }
+
+    public NoteAuditOutbox(NoteMutationEvent event) {
+        this.action = event.getAction();
+        this.noteId = event.getNoteId();
+        this.tenantId = event.getTenantId();
+        this.actorId = event.getActorId();
+        this.noteVersion = event.getNoteVersion();
+        this.occurredAt = event.getOccurredAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public NoteMutationEvent.Action getAction() {
+        return action;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public Long getNoteVersion() {
+        return noteVersion;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.vulnuris.notesservice.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Per-user note usage counter within a tenant, used to enforce FREE plan limits.
+ *
+ * Rows are only ever changed through conditional UPDATE statements in
+ * NoteQuotaRepository, so concurrent creates cannot push a user past the limit.
+ */
+@Entity
+@Table(name = "note_quota")
+@IdClass(NoteQuotaId.class)
+public class NoteQuota {
+
+    @Id
+    private Long tenantId;
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private int used;
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public int getUsed() {
+        return used;
+    }
+
+    public void setUsed(int used) {
+        this.used = used;
+    }
+}
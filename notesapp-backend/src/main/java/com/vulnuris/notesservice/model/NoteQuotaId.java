@@ -0,0 +1,45 @@
+package com.vulnuris.notesservice.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link NoteQuota}: (tenantId, userId).
+ */
+public class NoteQuotaId implements Serializable {
+
+    private Long tenantId;
+    private Long userId;
+
+    public NoteQuotaId() {
+    }
+
+    public NoteQuotaId(Long tenantId, Long userId) {
+        this.tenantId = tenantId;
+        this.userId = userId;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NoteQuotaId other)) {
+            return false;
+        }
+        return Objects.equals(tenantId, other.tenantId) && Objects.equals(userId, other.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tenantId, userId);
+    }
+}
@@ -0,0 +1,50 @@
+package com.vulnuris.notesservice.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted note, kept so delta sync can tell clients what to remove.
+ *
+ * Note ids come from a sequence and are never reused, so the note id is the key.
+ * Rows older than the configured retention are purged by TombstoneRetentionJob.
+ */
+@Entity
+@Table(name = "note_tombstones")
+public class NoteTombstone {
+
+    @Id
+    private Long noteId;
+
+    @Column(nullable = false)
+    private Long tenantId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    protected NoteTombstone() {
+    }
+
+    public NoteTombstone(Long noteId, Long tenantId) {
+        this.noteId = noteId;
+        this.tenantId = tenantId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        deletedAt = LocalDateTime.now();
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -1,9 +1,13 @@
 package com.vulnuris.notesservice.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// Second-level cached: lookups by id (e.g. TenantCache misses, plan checks) skip the database
 @Entity
 @Table(name = "tenants")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tenant")
 public class Tenant {
 
     @Id
@@ -0,0 +1,336 @@
+package com.vulnuris.notesservice.onboarding;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vulnuris.notesservice.dto.UserImportError;
+import com.vulnuris.notesservice.dto.UserImportResponse;
+import com.vulnuris.notesservice.dto.UserImportRow;
+import com.vulnuris.notesservice.exception.InvalidRequestException;
+import com.vulnuris.notesservice.exception.ServiceOverloadedException;
+import com.vulnuris.notesservice.model.Role;
+import com.vulnuris.notesservice.repository.UserRepository;
+import com.vulnuris.notesservice.security.PasswordHasher;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of users into one tenant, from CSV or NDJSON.
+ *
+ * The upload is read line by line and handled in chunks, so memory stays flat however
+ * large the file is. Per chunk:
+ * - rows are validated like POST /auth/register, and duplicate emails within the file rejected
+ * - emails that are already registered are found with a single IN query
+ * - plain-text passwords are hashed on the password hasher pool; {bcrypt} hashes are kept as is.
+ *   Hashing takes tens of milliseconds per row, so only users.import.max-plain-text-rows rows
+ *   per upload may carry plain text; larger migrations must send hashes
+ * - the remaining rows are inserted with one array-bound INSERT ... ON CONFLICT DO NOTHING,
+ *   so a concurrent registration of the same email is reported instead of failing the chunk
+ *
+ * Each chunk commits on its own. Rows that fail are listed in the response with their line
+ * number; the rest of the file is still imported. If hashing stays overloaded (see
+ * PasswordHasher#hashAll), the import stops and reports the line to resume from, with the
+ * chunks before it committed.
+ */
+@Service
+public class UserImportService {
+
+    private static final String INSERT_USERS = """
+            INSERT INTO users (email, password, role, tenant_id)
+            SELECT u.email, u.password, u.role, ?
+            FROM unnest(?::varchar[], ?::varchar[], ?::varchar[]) AS u(email, password, role)
+            ON CONFLICT (email) DO NOTHING
+            RETURNING email
+            """;
+
+    private static final String EMAIL_TAKEN = "Email already registered";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordHasher passwordHasher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxRows;
+    private final int maxPlainTextRows;
+
+    public UserImportService(
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            PasswordHasher passwordHasher,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${users.import.chunk-size:1000}") int chunkSize,
+            @Value("${users.import.max-rows:100000}") int maxRows,
+            @Value("${users.import.max-plain-text-rows:500}") int maxPlainTextRows
+    ) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordHasher = passwordHasher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.maxPlainTextRows = maxPlainTextRows;
+    }
+
+    /**
+     * Imports a CSV file. The first line is a header naming the columns: email and
+     * password are required, role is optional. Fields may be double-quoted.
+     */
+    public UserImportResponse importCsv(Reader input, Long tenantId) throws IOException {
+        BufferedReader reader = new BufferedReader(input);
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new InvalidRequestException("CSV header is missing");
+        }
+        List<String> header = parseCsvLine(headerLine).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int emailColumn = header.indexOf("email");
+        int passwordColumn = header.indexOf("password");
+        int roleColumn = header.indexOf("role");
+        if (emailColumn < 0 || passwordColumn < 0) {
+            throw new InvalidRequestException("CSV header must include the email and password columns");
+        }
+
+        Importer importer = new Importer(tenantId);
+        String line;
+        long lineNumber = 1;
+        while ((line = reader.readLine()) != null && importer.hasCapacity()) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = parseCsvLine(line);
+            if (fields.size() != header.size()) {
+                importer.reject(lineNumber, null, "Expected " + header.size() + " fields, found " + fields.size());
+                continue;
+            }
+            UserImportRow row = new UserImportRow();
+            row.setEmail(fields.get(emailColumn).trim());
+            row.setPassword(fields.get(passwordColumn));
+            if (roleColumn >= 0 && !fields.get(roleColumn).isBlank()) {
+                row.setRole(fields.get(roleColumn).trim());
+            }
+            importer.add(lineNumber, row);
+        }
+        return importer.finish(line != null);
+    }
+
+    /**
+     * Imports newline-delimited JSON: one {"email", "password", "role"} object per line.
+     */
+    public UserImportResponse importNdjson(Reader input, Long tenantId) throws IOException {
+        BufferedReader reader = new BufferedReader(input);
+        Importer importer = new Importer(tenantId);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null && importer.hasCapacity()) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            UserImportRow row;
+            try {
+                row = objectMapper.readValue(line, UserImportRow.class);
+            } catch (JsonProcessingException ex) {
+                importer.reject(lineNumber, null, "Malformed JSON");
+                continue;
+            }
+            if (row.getEmail() != null) {
+                row.setEmail(row.getEmail().trim());
+            }
+            importer.add(lineNumber, row);
+        }
+        return importer.finish(line != null);
+    }
+
+    // Splits one CSV line; supports double-quoted fields with "" escapes (not embedded newlines)
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record PendingUser(long line, String email, String password, String role) {
+    }
+
+    /**
+     * State of one import: the current chunk, emails seen so far and the results.
+     */
+    private class Importer {
+
+        private final Long tenantId;
+        private final Set<String> seenEmails = new HashSet<>();
+        private final List<PendingUser> chunk = new ArrayList<>();
+        private final List<UserImportError> errors = new ArrayList<>();
+        private int rows;
+        private int plainTextRows;
+        private int imported;
+        // First line of the chunk that could not be hashed; 0 while the import is running
+        private long stoppedAtLine;
+
+        Importer(Long tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        boolean hasCapacity() {
+            return rows < maxRows && stoppedAtLine == 0;
+        }
+
+        void reject(long line, String email, String error) {
+            rows++;
+            errors.add(new UserImportError(line, email, error));
+        }
+
+        void add(long line, UserImportRow row) {
+            Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                reject(line, row.getEmail(), violations.stream()
+                        .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            boolean plainText = !passwordHasher.isHashed(row.getPassword());
+            if (plainText && plainTextRows >= maxPlainTextRows) {
+                reject(line, row.getEmail(), "Plain-text passwords are limited to " + maxPlainTextRows
+                        + " rows per import; send {bcrypt} hashes");
+                return;
+            }
+            if (!seenEmails.add(row.getEmail())) {
+                reject(line, row.getEmail(), "Duplicate email in file");
+                return;
+            }
+            rows++;
+            if (plainText) {
+                plainTextRows++;
+            }
+            String role = row.getRole() != null ? row.getRole() : Role.MEMBER.name();
+            chunk.add(new PendingUser(line, row.getEmail(), row.getPassword(), role));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        UserImportResponse finish(boolean truncated) {
+            flush();
+            if (stoppedAtLine > 0) {
+                errors.add(new UserImportError(0, null, "Import stopped at line " + stoppedAtLine
+                        + ": password hashing is busy. Resend the rest of the file from that line"));
+            } else if (truncated) {
+                errors.add(new UserImportError(0, null, "Import stopped after " + maxRows + " rows"));
+            }
+            errors.sort(Comparator.comparingLong(UserImportError::getLine));
+            return new UserImportResponse(imported, errors);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            Set<String> taken = userRepository.findExistingEmails(
+                    chunk.stream().map(PendingUser::email).toList());
+
+            List<PendingUser> toInsert = new ArrayList<>(chunk.size());
+            List<String> plainPasswords = new ArrayList<>();
+            for (PendingUser user : chunk) {
+                if (taken.contains(user.email())) {
+                    errors.add(new UserImportError(user.line(), user.email(), EMAIL_TAKEN));
+                } else {
+                    toInsert.add(user);
+                    if (!passwordHasher.isHashed(user.password())) {
+                        plainPasswords.add(user.password());
+                    }
+                }
+            }
+            chunk.clear();
+            if (toInsert.isEmpty()) {
+                return;
+            }
+
+            // Hashing dominates the cost of plain-text rows; only rows that will be inserted pay it
+            List<String> hashes;
+            try {
+                hashes = passwordHasher.hashAll(plainPasswords);
+            } catch (ServiceOverloadedException ex) {
+                // Earlier chunks are committed; stop here and report this chunk's rows as not imported
+                stoppedAtLine = toInsert.get(0).line();
+                for (PendingUser user : toInsert) {
+                    errors.add(new UserImportError(user.line(), user.email(), "Not imported: import stopped"));
+                }
+                return;
+            }
+            String[] emails = new String[toInsert.size()];
+            String[] passwords = new String[toInsert.size()];
+            String[] roles = new String[toInsert.size()];
+            int nextHash = 0;
+            for (int i = 0; i < toInsert.size(); i++) {
+                PendingUser user = toInsert.get(i);
+                emails[i] = user.email();
+                passwords[i] = passwordHasher.isHashed(user.password()) ? user.password() : hashes.get(nextHash++);
+                roles[i] = user.role();
+            }
+
+            Set<String> inserted = new HashSet<>(jdbcTemplate.query(
+                    (Connection connection) -> insertStatement(connection, emails, passwords, roles),
+                    (rs, rowNum) -> rs.getString(1)));
+            imported += inserted.size();
+            for (PendingUser user : toInsert) {
+                if (!inserted.contains(user.email())) {
+                    // Registered concurrently, between the lookup and the insert
+                    errors.add(new UserImportError(user.line(), user.email(), EMAIL_TAKEN));
+                }
+            }
+        }
+
+        private PreparedStatement insertStatement(Connection connection, String[] emails, String[] passwords,
+                                                  String[] roles) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(INSERT_USERS);
+            statement.setLong(1, tenantId);
+            statement.setArray(2, connection.createArrayOf("varchar", emails));
+            statement.setArray(3, connection.createArrayOf("varchar", passwords));
+            statement.setArray(4, connection.createArrayOf("varchar", roles));
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.vulnuris.notesservice.quota;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vulnuris.notesservice.exception.SubscriptionLimitExceededException;
+import com.vulnuris.notesservice.repository.NoteQuotaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+/**
+ * Enforces the FREE plan per-user note limit with a stored usage counter.
+ *
+ * Each reservation is a single conditional UPDATE on the (tenantId, userId) row, so the
+ * check and the increment happen atomically in the database - concurrent creates cannot
+ * both pass the limit. Reservations join the caller's transaction and are rolled back
+ * with it if the note insert fails.
+ *
+ * Optionally, users that hit the limit are remembered in a small local cache so repeated
+ * attempts are rejected without a database round trip. A release on this instance clears
+ * the entry; releases on other instances are picked up when the entry expires.
+ */
+@Service
+public class NoteQuotaService {
+
+    private final NoteQuotaRepository quotaRepository;
+    private final int maxNotesPerUser;
+    private final Cache<QuotaKey, Boolean> exhausted;
+    private final Counter rejectedByDatabase;
+    private final Counter rejectedByLocalCache;
+
+    public NoteQuotaService(
+            NoteQuotaRepository quotaRepository,
+            MeterRegistry meterRegistry,
+            @Value("${quota.free.max-notes-per-user:3}") int maxNotesPerUser,
+            @Value("${quota.local-cache.enabled:false}") boolean localCacheEnabled,
+            @Value("${quota.local-cache.max-size:100000}") long localCacheMaxSize,
+            @Value("${quota.local-cache.ttl:30s}") Duration localCacheTtl
+    ) {
+        this.quotaRepository = quotaRepository;
+        this.maxNotesPerUser = maxNotesPerUser;
+        this.exhausted = localCacheEnabled
+                ? Caffeine.newBuilder().maximumSize(localCacheMaxSize).expireAfterWrite(localCacheTtl).build()
+                : null;
+        this.rejectedByDatabase = rejectionCounter(meterRegistry, "database");
+        this.rejectedByLocalCache = rejectionCounter(meterRegistry, "local-cache");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("notes.quota.rejections")
+                .description("Note creations rejected by the FREE plan limit")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves slots for new notes or throws SubscriptionLimitExceededException.
+     * Must run inside the transaction that inserts the notes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Long tenantId, Long userId, int slots) {
+        if (!tryReserve(tenantId, userId, slots)) {
+            throw new SubscriptionLimitExceededException(getLimitMessage());
+        }
+    }
+
+    /**
+     * Reserves slots for new notes, returning false instead of throwing when the limit
+     * would be exceeded (so callers can report the failure without rolling back).
+     * Must run inside the transaction that inserts the notes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryReserve(Long tenantId, Long userId, int slots) {
+        QuotaKey key = new QuotaKey(tenantId, userId);
+        if (exhausted != null && exhausted.getIfPresent(key) != null) {
+            rejectedByLocalCache.increment();
+            return false;
+        }
+
+        if (!reserveInDatabase(tenantId, userId, slots)) {
+            // Only a single-slot failure proves the user is at the limit
+            if (exhausted != null && slots == 1) {
+                exhausted.put(key, Boolean.TRUE);
+            }
+            rejectedByDatabase.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reserves as many of the requested slots as the limit allows and returns how many were
+     * granted (0 to slots), so batch callers can reject only the creates that do not fit.
+     * Must run inside the transaction that inserts the notes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int reserveUpTo(Long tenantId, Long userId, int slots) {
+        QuotaKey key = new QuotaKey(tenantId, userId);
+        if (exhausted != null && exhausted.getIfPresent(key) != null) {
+            rejectedByLocalCache.increment(slots);
+            return 0;
+        }
+        if (reserveInDatabase(tenantId, userId, slots)) {
+            return slots;
+        }
+
+        // Not all of them fit (the row exists now): lock the counter and take what is left
+        int used = quotaRepository.lockUsed(tenantId, userId);
+        int granted = Math.max(0, Math.min(slots, maxNotesPerUser - used));
+        if (granted > 0) {
+            quotaRepository.tryReserve(tenantId, userId, granted, maxNotesPerUser);
+        } else if (exhausted != null) {
+            exhausted.put(key, Boolean.TRUE);
+        }
+        rejectedByDatabase.increment(slots - granted);
+        return granted;
+    }
+
+    // One conditional UPDATE in the common case; false if the slots do not fit
+    private boolean reserveInDatabase(Long tenantId, Long userId, int slots) {
+        int updated = quotaRepository.tryReserve(tenantId, userId, slots, maxNotesPerUser);
+        if (updated == 0) {
+            // Either the counter row does not exist yet or the limit is reached.
+            // Seed the row (no-op if it exists) and retry once.
+            quotaRepository.initialize(tenantId, userId);
+            updated = quotaRepository.tryReserve(tenantId, userId, slots, maxNotesPerUser);
+        }
+        return updated > 0;
+    }
+
+    /**
+     * Returns slots after notes are deleted. Must run inside the deleting transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long tenantId, Long userId, int slots) {
+        quotaRepository.release(tenantId, userId, slots);
+        if (exhausted != null) {
+            exhausted.invalidate(new QuotaKey(tenantId, userId));
+        }
+    }
+
+    public String getLimitMessage() {
+        return "Note limit reached. FREE plan allows maximum " + maxNotesPerUser +
+                " notes per user. Upgrade to PRO for unlimited notes.";
+    }
+
+    private record QuotaKey(Long tenantId, Long userId) {
+    }
+}
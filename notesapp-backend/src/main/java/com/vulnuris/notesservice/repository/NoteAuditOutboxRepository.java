@@ -0,0 +1,42 @@
+package com.vulnuris.notesservice.repository;
+
+import com.vulnuris.notesservice.model.NoteAuditOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface NoteAuditOutboxRepository extends JpaRepository<NoteAuditOutbox, Long> {
+
+    // Moves the oldest pending records to the audit log in one statement, so a record is
+    // either still pending or logged, never both or neither. SKIP LOCKED lets several
+    // instances drain disjoint batches concurrently. Oldest by occurred_at: ids come from
+    // per-instance blocks of the pooled sequence, so they do not follow insertion order.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH batch AS (
+                DELETE FROM note_audit_outbox
+                WHERE id IN (SELECT id FROM note_audit_outbox ORDER BY occurred_at, id LIMIT :limit
+                             FOR UPDATE SKIP LOCKED)
+                RETURNING id, action, note_id, tenant_id, actor_id, note_version, occurred_at
+            )
+            INSERT INTO note_audit_log (id, action, note_id, tenant_id, actor_id, note_version, occurred_at)
+            SELECT id, action, note_id, tenant_id, actor_id, note_version, occurred_at FROM batch
+            """, nativeQuery = true)
+    int moveToAuditLog(@Param("limit") int limit);
+
+    // Pending records. Read-write transaction, so it is answered by the primary: the count drives
+    // backpressure and must not lag behind on a replica
+    @Transactional
+    @Query(value = "SELECT count(*) FROM note_audit_outbox", nativeQuery = true)
+    long countPending();
+
+    // Creation time of the oldest pending record, or null when the outbox is empty (primary, as above)
+    @Transactional
+    @Query(value = "SELECT min(occurred_at) FROM note_audit_outbox", nativeQuery = true)
+    LocalDateTime findOldestOccurredAt();
+}
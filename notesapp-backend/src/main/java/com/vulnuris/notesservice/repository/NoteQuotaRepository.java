@@ -0,0 +1,39 @@
+package com.vulnuris.notesservice.repository;
+
+import com.vulnuris.notesservice.model.NoteQuota;
+import com.vulnuris.notesservice.model.NoteQuotaId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NoteQuotaRepository extends JpaRepository<NoteQuota, NoteQuotaId> {
+
+    // Atomically takes slots from the user's quota. Returns 0 if the row is missing or the limit would be exceeded.
+    @Modifying
+    @Query("update NoteQuota q set q.used = q.used + :slots " +
+            "where q.tenantId = :tenantId and q.userId = :userId and q.used + :slots <= :limit")
+    int tryReserve(@Param("tenantId") Long tenantId, @Param("userId") Long userId,
+                   @Param("slots") int slots, @Param("limit") int limit);
+
+    // Locks the user's counter row until the end of the transaction and returns its usage
+    @Query(value = "SELECT used FROM note_quota WHERE tenant_id = :tenantId AND user_id = :userId FOR UPDATE",
+            nativeQuery = true)
+    Integer lockUsed(@Param("tenantId") Long tenantId, @Param("userId") Long userId);
+
+    // Returns slots to the user's quota, never going below zero
+    @Modifying
+    @Query("update NoteQuota q set q.used = case when q.used > :slots then q.used - :slots else 0 end " +
+            "where q.tenantId = :tenantId and q.userId = :userId")
+    int release(@Param("tenantId") Long tenantId, @Param("userId") Long userId, @Param("slots") int slots);
+
+    // Creates the counter row seeded from the user's existing notes (one-time COUNT per user).
+    // Concurrent initializers are serialized by the primary key; the loser does nothing.
+    @Modifying
+    @Query(value = "INSERT INTO note_quota (tenant_id, user_id, used) " +
+            "SELECT :tenantId, :userId, count(*) FROM notes WHERE tenant_id = :tenantId AND created_by = :userId " +
+            "ON CONFLICT (tenant_id, user_id) DO NOTHING", nativeQuery = true)
+    int initialize(@Param("tenantId") Long tenantId, @Param("userId") Long userId);
+}
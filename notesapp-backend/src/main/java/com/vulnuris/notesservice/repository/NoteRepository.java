@@ -1,24 +1,165 @@
 package com.vulnuris.notesservice.repository;
 
+import com.vulnuris.notesservice.dto.NoteChangeRow;
+import com.vulnuris.notesservice.dto.NoteSearchHit;
+import com.vulnuris.notesservice.dto.NoteSummary;
+import com.vulnuris.notesservice.dto.NotesFreshness;
 import com.vulnuris.notesservice.model.Note;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
 
-    // Returns all notes for a specific tenant
+    // Returns all notes for a specific tenant (unbounded - only used by the explicit ?all=true listing)
     List<Note> findByTenantId(Long tenantId);
 
+    // Streams every note of a tenant through a server-side cursor (fixed fetch size, read-only entities).
+    // Must be consumed inside a transaction, otherwise the PostgreSQL driver materializes the whole result.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select n from Note n where n.tenantId = :tenantId order by n.id")
+    Stream<Note> streamByTenantId(@Param("tenantId") Long tenantId);
+
+    // First page of note summaries, newest first (keyset pagination on updatedAt, id)
+    @Query("select new com.vulnuris.notesservice.dto.NoteSummary(" +
+            "n.id, n.title, substring(n.content, 1, 200), n.createdBy, n.updatedAt) " +
+            "from Note n where n.tenantId = :tenantId " +
+            "order by n.updatedAt desc, n.id desc")
+    List<NoteSummary> findSummariesByTenantId(@Param("tenantId") Long tenantId, Limit limit);
+
+    // Next page of note summaries: rows strictly after the (updatedAt, id) cursor of the previous page
+    @Query("select new com.vulnuris.notesservice.dto.NoteSummary(" +
+            "n.id, n.title, substring(n.content, 1, 200), n.createdBy, n.updatedAt) " +
+            "from Note n where n.tenantId = :tenantId " +
+            "and (n.updatedAt < :updatedAt or (n.updatedAt = :updatedAt and n.id < :id)) " +
+            "order by n.updatedAt desc, n.id desc")
+    List<NoteSummary> findSummariesByTenantIdAfter(
+            @Param("tenantId") Long tenantId,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    // Search result excerpt with matched terms in <mark>. The content is HTML-escaped first, so the
+    // <mark> tags are the only markup in the snippet and it is safe to render as HTML.
+    String SEARCH_SNIPPET = "ts_headline('english', " +
+            "replace(replace(replace(left(m.content, 100000), '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), m.query, " +
+            "'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=30, MinWords=10')";
+
+    // Ranked full-text search over the generated search_vector column (GIN index), first page.
+    // The inner query ranks and limits; snippets are only built for the rows actually returned.
+    @Query(value = "SELECT m.id AS id, m.title AS title, " +
+            SEARCH_SNIPPET + " AS snippet, " +
+            "m.rank AS rank " +
+            "FROM (SELECT n.id, n.title, n.content, q.query, ts_rank(n.search_vector, q.query) AS rank " +
+            "      FROM notes n, websearch_to_tsquery('english', :query) AS q(query) " +
+            "      WHERE n.tenant_id = :tenantId AND n.search_vector @@ q.query " +
+            "      ORDER BY rank DESC, n.id DESC LIMIT :limit) m " +
+            "ORDER BY m.rank DESC, m.id DESC", nativeQuery = true)
+    List<NoteSearchHit> search(@Param("tenantId") Long tenantId, @Param("query") String query,
+                               @Param("limit") int limit);
+
+    // Next page of search results: rows strictly after the (rank, id) cursor of the previous page
+    @Query(value = "SELECT m.id AS id, m.title AS title, " +
+            SEARCH_SNIPPET + " AS snippet, " +
+            "m.rank AS rank " +
+            "FROM (SELECT n.id, n.title, n.content, q.query, ts_rank(n.search_vector, q.query) AS rank " +
+            "      FROM notes n, websearch_to_tsquery('english', :query) AS q(query) " +
+            "      WHERE n.tenant_id = :tenantId AND n.search_vector @@ q.query " +
+            "      AND (ts_rank(n.search_vector, q.query) < :rank " +
+            "           OR (ts_rank(n.search_vector, q.query) = :rank AND n.id < :id)) " +
+            "      ORDER BY rank DESC, n.id DESC LIMIT :limit) m " +
+            "ORDER BY m.rank DESC, m.id DESC", nativeQuery = true)
+    List<NoteSearchHit> searchAfter(@Param("tenantId") Long tenantId, @Param("query") String query,
+                                    @Param("rank") Float rank, @Param("id") Long id,
+                                    @Param("limit") int limit);
+
     // Returns a note only if it belongs to the specified tenant
     Optional<Note> findByIdAndTenantId(Long id, Long tenantId);
 
+    boolean existsByIdAndTenantId(Long id, Long tenantId);
+
+    // Single-statement update that returns the new row; no prior SELECT and no dirty checking.
+    // Runs in its own read-write transaction (query methods default to read-only).
+    // The returned (uncommitted) row is kept out of the second-level cache; callers evict the old one.
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query(value = """
+            update notes set title = :title, content = :content, updated_at = :updatedAt, version = version + 1
+            where id = :id and tenant_id = :tenantId
+            returning *
+            """, nativeQuery = true)
+    Optional<Note> updateContent(@Param("id") Long id, @Param("tenantId") Long tenantId,
+                                 @Param("title") String title, @Param("content") String content,
+                                 @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Compare-and-set variant of updateContent: only applies if the row still has the expected version
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query(value = """
+            update notes set title = :title, content = :content, updated_at = :updatedAt, version = version + 1
+            where id = :id and tenant_id = :tenantId and version = :version
+            returning *
+            """, nativeQuery = true)
+    Optional<Note> updateContentIfVersion(@Param("id") Long id, @Param("tenantId") Long tenantId,
+                                          @Param("version") Long version,
+                                          @Param("title") String title, @Param("content") String content,
+                                          @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Count and latest update time of a tenant's notes, answered from the (tenant_id, updated_at, id) index
+    @Query("select new com.vulnuris.notesservice.dto.NotesFreshness(count(n), max(n.updatedAt)) " +
+            "from Note n where n.tenantId = :tenantId")
+    NotesFreshness findFreshnessByTenantId(@Param("tenantId") Long tenantId);
+
+    // Tenant change feed: live notes by updated_at plus tombstones by deleted_at, merged in
+    // (changed_at, note_id) order after the cursor and up to the settle horizon. Both branches
+    // are range scans on their (tenant_id, timestamp, id) indexes.
+    @Query(value = """
+            select c.note_id as noteId, c.changed_at as changedAt, c.deleted as deleted
+            from (
+                (select n.id as note_id, n.updated_at as changed_at, false as deleted
+                 from notes n
+                 where n.tenant_id = :tenantId
+                   and (n.updated_at, n.id) > (:sinceAt, :sinceId)
+                   and n.updated_at <= :upTo
+                 order by n.updated_at, n.id
+                 limit :limit)
+                union all
+                (select t.note_id, t.deleted_at, true
+                 from note_tombstones t
+                 where t.tenant_id = :tenantId
+                   and (t.deleted_at, t.note_id) > (:sinceAt, :sinceId)
+                   and t.deleted_at <= :upTo
+                 order by t.deleted_at, t.note_id
+                 limit :limit)
+            ) c
+            order by c.changed_at, c.note_id
+            limit :limit
+            """, nativeQuery = true)
+    List<NoteChangeRow> findChangesAfter(@Param("tenantId") Long tenantId,
+                                         @Param("sinceAt") LocalDateTime sinceAt,
+                                         @Param("sinceId") Long sinceId,
+                                         @Param("upTo") LocalDateTime upTo,
+                                         @Param("limit") int limit);
+
+    // Loads the given notes in one query, silently skipping ids that belong to other tenants
+    List<Note> findByTenantIdAndIdIn(Long tenantId, Collection<Long> ids);
+
     // Counts notes for a specific tenant (used for subscription limit enforcement - per tenant)
     long countByTenantId(Long tenantId);
-
-    // Counts notes for a specific user within a tenant (used for per-user subscription limits)
-    long countByTenantIdAndCreatedBy(Long tenantId, Long createdBy);
 }
@@ -0,0 +1,19 @@
+package com.vulnuris.notesservice.repository;
+
+import com.vulnuris.notesservice.model.NoteTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface NoteTombstoneRepository extends JpaRepository<NoteTombstone, Long> {
+
+    // Bulk purge of tombstones past retention, without loading them
+    @Modifying
+    @Transactional
+    @Query("delete from NoteTombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
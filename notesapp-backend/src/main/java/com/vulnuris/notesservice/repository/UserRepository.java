@@ -2,12 +2,22 @@ package com.vulnuris.notesservice.repository;
 
 import com.vulnuris.notesservice.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // Answered from the unique index on email, without loading the user
+    boolean existsByEmail(String email);
+
+    // Which of these emails are already registered (one query per bulk-import chunk)
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
 }
 
@@ -0,0 +1,39 @@
+package com.vulnuris.notesservice.security;
+
+/**
+ * Identity decoded from a verified JWT: user, tenant, role and expiry.
+ */
+public final class JwtPrincipal {
+
+    private final Long userId;
+    private final Long tenantId;
+    private final String role;
+    private final long expiresAtMillis;
+
+    public JwtPrincipal(Long userId, Long tenantId, String role, long expiresAtMillis) {
+        this.userId = userId;
+        this.tenantId = tenantId;
+        this.role = role;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -18,6 +18,8 @@ public class JwtUtil {
 
     private final Key key;
     private final long expiration;
+    // Parsers are immutable and thread-safe, so one instance is built up front and reused
+    private final JwtParser parser;
 
     public JwtUtil(
             @Value("${jwt.secret}") String secret,
@@ -32,6 +34,9 @@ public class JwtUtil {
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expiration = expiration;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String generateToken(Long userId, Long tenantId, String role) {
@@ -48,11 +53,22 @@ public class JwtUtil {
     }
 
     public Claims validateToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verifies the token and extracts the claims the application needs.
+     * Throws a JwtException if the signature is invalid or the token has expired.
+     */
+    public JwtPrincipal parsePrincipal(String token) {
+        Claims claims = validateToken(token);
+        Date expiresAt = claims.getExpiration();
+        return new JwtPrincipal(
+                claims.get("userId", Long.class),
+                claims.get("tenantId", Long.class),
+                claims.get("role", String.class),
+                expiresAt != null ? expiresAt.getTime() : Long.MAX_VALUE
+        );
     }
 }
 
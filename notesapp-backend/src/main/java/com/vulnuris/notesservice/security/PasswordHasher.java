@@ -0,0 +1,194 @@
+package com.vulnuris.notesservice.security;
+
+import com.vulnuris.notesservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Hashes and verifies passwords on a dedicated, bounded thread pool.
+ *
+ * BCrypt is CPU-bound by design. Running it on request threads would let a burst of
+ * logins compete with note traffic for CPU and threads, so hashing gets its own small
+ * pool with a bounded queue; when both are full, requests fail fast with 503 instead
+ * of queueing. Pool metrics are published as "password.hasher" executor metrics.
+ *
+ * Hashes are stored with an algorithm prefix ({bcrypt}...). Passwords stored before
+ * hashing was introduced (plain text, no prefix) still verify, and are re-hashed on the
+ * user's next successful login - as are hashes made with a lower bcrypt strength than
+ * the configured one.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+    private static final Duration BULK_RETRY_INTERVAL = Duration.ofMillis(20);
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\{bcrypt}\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}");
+
+    private final PasswordEncoder encoder;
+    private final ExecutorService executor;
+    private final int poolSize;
+    private final Duration bulkWait;
+    // Verified when the user does not exist, so unknown emails cost the same time as known ones
+    private final String dummyHash;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+                          @Value("${security.password.hasher.threads:0}") int threads,
+                          @Value("${security.password.hasher.queue-capacity:64}") int queueCapacity,
+                          @Value("${security.password.hasher.bulk-wait:30s}") Duration bulkWait) {
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(
+                "bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
+        delegating.setDefaultPasswordEncoderForMatches(new LegacyPlainTextPasswordEncoder());
+        this.encoder = delegating;
+
+        // Default: half the cores, so hashing can never take all the CPU from request handling
+        this.poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hasher-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hasher");
+        this.bulkWait = bulkWait;
+
+        this.dummyHash = encoder.encode(UUID.randomUUID().toString());
+
+        // Rough calibration of the configured strength on this hardware (cold JVM, so an upper bound)
+        long start = System.nanoTime();
+        encoder.matches("calibration", dummyHash);
+        log.info("Password hashing: bcrypt strength {} takes ~{} ms per check, {} threads, queue capacity {}",
+                bcryptStrength, Duration.ofNanos(System.nanoTime() - start).toMillis(), poolSize, queueCapacity);
+    }
+
+    /**
+     * Hashes a new password.
+     */
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Hashes many passwords (e.g. a bulk import), in waves no larger than the pool so the
+     * queue stays available for interactive logins. Blocks until all are hashed. When the
+     * queue is full, waits for room rather than failing; throws ServiceOverloadedException
+     * only after waiting longer than security.password.hasher.bulk-wait for one slot.
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        for (int from = 0; from < rawPasswords.size(); from += poolSize) {
+            List<CompletableFuture<String>> wave = rawPasswords
+                    .subList(from, Math.min(rawPasswords.size(), from + poolSize))
+                    .stream()
+                    .map(this::hashWhenQueued)
+                    .toList();
+            wave.forEach(hash -> hashes.add(hash.join()));
+        }
+        return hashes;
+    }
+
+    /**
+     * Checks a password against the stored hash (null when the user does not exist, which
+     * never matches). When it matches and the stored hash is outdated, the result carries
+     * a fresh hash to store.
+     */
+    public CompletableFuture<Verification> verify(String rawPassword, String storedHash) {
+        return submit(() -> {
+            if (storedHash == null) {
+                encoder.matches(rawPassword, dummyHash);
+                return new Verification(false, null);
+            }
+            if (!encoder.matches(rawPassword, storedHash)) {
+                return new Verification(false, null);
+            }
+            String upgradedHash = encoder.upgradeEncoding(storedHash) ? encoder.encode(rawPassword) : null;
+            return new Verification(true, upgradedHash);
+        });
+    }
+
+    /**
+     * Whether the value is already a stored-format hash ({bcrypt}$2a$10$...), which can be
+     * saved as is.
+     */
+    public boolean isHashed(String password) {
+        return BCRYPT_HASH.matcher(password).matches();
+    }
+
+    // Retries a rejected submission until a queue slot frees up, instead of failing like interactive requests
+    private CompletableFuture<String> hashWhenQueued(String rawPassword) {
+        long deadline = System.nanoTime() + bulkWait.toNanos();
+        while (true) {
+            try {
+                return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor);
+            } catch (RejectedExecutionException ex) {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new ServiceOverloadedException("Password hashing is busy. Please retry shortly.", Duration.ofSeconds(1));
+                }
+            }
+            try {
+                Thread.sleep(BULK_RETRY_INTERVAL.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ServiceOverloadedException("Password hashing was interrupted. Please retry.", Duration.ofSeconds(1));
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceOverloadedException("Too many sign-in requests. Please retry shortly.", Duration.ofSeconds(1));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Outcome of a password check. upgradedHash is set when the stored hash should be replaced.
+     */
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+
+    // Matches passwords stored before hashing was introduced (no {id} prefix).
+    // Never used to encode, so new passwords are always hashed.
+    private static class LegacyPlainTextPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("Plain-text passwords are only accepted for verification");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return MessageDigest.isEqual(
+                    rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                    encodedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
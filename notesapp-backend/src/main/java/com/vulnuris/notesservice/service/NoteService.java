@@ -1,8 +1,18 @@
 package com.vulnuris.notesservice.service;
 
+import com.vulnuris.notesservice.dto.CursorPage;
+import com.vulnuris.notesservice.dto.NoteBatchOperation;
+import com.vulnuris.notesservice.dto.NoteBatchResponse;
+import com.vulnuris.notesservice.dto.NoteChanges;
+import com.vulnuris.notesservice.dto.NoteSearchHit;
+import com.vulnuris.notesservice.dto.NoteSummary;
+import com.vulnuris.notesservice.dto.NotesFreshness;
 import com.vulnuris.notesservice.model.Note;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Function;
 
 public interface NoteService {
 
@@ -10,9 +20,25 @@ public interface NoteService {
 
     List<Note> getAllNotes();
 
+    CursorPage<NoteSummary> getNotes(String cursor, int limit);
+
+    NoteChanges getChanges(String since, int limit);
+
+    String getChangesCursor();
+
+    CursorPage<NoteSearchHit> searchNotes(String query, String cursor, int limit);
+
+    void exportNotes(Long tenantId, OutputStream out) throws IOException;
+
     Note getNoteById(Long id);
 
+    <T> T withNotesFreshness(Function<NotesFreshness, T> read);
+
     Note updateNote(Long id, Note note);
 
+    Note updateNote(Long id, Note note, Long expectedVersion);
+
     void deleteNote(Long id);
+
+    NoteBatchResponse applyBatch(List<NoteBatchOperation> operations);
 }
@@ -1,30 +1,115 @@
 package com.vulnuris.notesservice.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vulnuris.notesservice.audit.NoteMutationEvent;
+import com.vulnuris.notesservice.dto.CursorPage;
+import com.vulnuris.notesservice.dto.NoteBatchOperation;
+import com.vulnuris.notesservice.dto.NoteBatchResponse;
+import com.vulnuris.notesservice.dto.NoteBatchResult;
+import com.vulnuris.notesservice.dto.NoteChangeRow;
+import com.vulnuris.notesservice.dto.NoteChanges;
+import com.vulnuris.notesservice.dto.NoteResponse;
+import com.vulnuris.notesservice.dto.NoteSearchHit;
+import com.vulnuris.notesservice.dto.NoteSummary;
+import com.vulnuris.notesservice.dto.NotesFreshness;
+import com.vulnuris.notesservice.exception.InvalidRequestException;
+import com.vulnuris.notesservice.exception.PreconditionFailedException;
 import com.vulnuris.notesservice.exception.ResourceNotFoundException;
-import com.vulnuris.notesservice.exception.SubscriptionLimitExceededException;
+import com.vulnuris.notesservice.exception.SyncCursorExpiredException;
 import com.vulnuris.notesservice.model.Note;
+import com.vulnuris.notesservice.model.NoteTombstone;
 import com.vulnuris.notesservice.model.SubscriptionPlan;
 import com.vulnuris.notesservice.model.Tenant;
+import com.vulnuris.notesservice.quota.NoteQuotaService;
 import com.vulnuris.notesservice.repository.NoteRepository;
-import com.vulnuris.notesservice.repository.TenantRepository;
+import com.vulnuris.notesservice.tenant.TenantCache;
 import com.vulnuris.notesservice.tenant.TenantContext;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+// One timer series per public method (tags: class, method, exception)
+@Timed(value = "notes.service", description = "Note service operations", histogram = true)
 public class NoteServiceImpl implements NoteService {
 
+    // Upper bound for a single page of the note listing
+    static final int MAX_PAGE_SIZE = 100;
+
+    // Upper bound for a single page of the delta sync feed
+    private static final int MAX_CHANGES_PAGE_SIZE = 500;
+
+    // Starting point of the change feed for a client without a sync cursor
+    private static final LocalDateTime SYNC_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Longest accepted full-text search query
+    private static final int MAX_SEARCH_QUERY_LENGTH = 256;
+
+    // Flush the export stream to the client every N notes (matches the JDBC fetch size)
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private final NoteRepository noteRepository;
-    private final TenantRepository tenantRepository;
+    private final TenantCache tenantCache;
+    private final NoteQuotaService quotaService;
+    private final EntityManager entityManager;
+    private final ObjectWriter noteWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxBatchOperations;
+    private final Duration syncSettleWindow;
+    private final Duration tombstoneRetention;
+    private final boolean noteCacheEnabled;
 
-    public NoteServiceImpl(NoteRepository noteRepository, TenantRepository tenantRepository) {
+    public NoteServiceImpl(NoteRepository noteRepository, TenantCache tenantCache, NoteQuotaService quotaService,
+                           EntityManager entityManager, ObjectMapper objectMapper,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${notes.batch.max-operations:500}") int maxBatchOperations,
+                           @Value("${notes.sync.settle-window:5s}") Duration syncSettleWindow,
+                           @Value("${notes.sync.tombstone-retention:30d}") Duration tombstoneRetention,
+                           @Value("${notes.entity-cache.enabled:false}") boolean noteCacheEnabled) {
         this.noteRepository = noteRepository;
-        this.tenantRepository = tenantRepository;
+        this.tenantCache = tenantCache;
+        this.quotaService = quotaService;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.maxBatchOperations = maxBatchOperations;
+        this.syncSettleWindow = syncSettleWindow;
+        this.tombstoneRetention = tombstoneRetention;
+        this.noteCacheEnabled = noteCacheEnabled;
+        // Flushing is driven by the export loop, not by every written value
+        this.noteWriter = objectMapper.writerFor(Note.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Override
+    @Transactional
     public Note createNote(Note note) {
         // Get the authenticated user ID from SecurityContext
         Long userId = (Long) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -32,21 +117,16 @@ public class NoteServiceImpl implements NoteService {
         // Get the tenant ID from TenantContext (set by JwtAuthFilter)
         Long tenantId = TenantContext.getTenantId();
 
-        // Fetch tenant to check subscription plan
+        // Fetch tenant to check subscription plan (served from the in-process tenant cache)
         // If tenant doesn't exist (stale token after DB reset), throw clear error
-        Tenant tenant = tenantRepository.findById(tenantId)
+        Tenant tenant = tenantCache.findById(tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                     "Tenant not found with id: " + tenantId +
                     ". Your session may be stale. Please logout and register/login again."));
 
-        // Enforce subscription limits for FREE plan (per-user limit)
+        // Enforce subscription limits for FREE plan (per-user limit, atomic counter)
         if (tenant.getSubscriptionPlan() == SubscriptionPlan.FREE) {
-            long noteCount = noteRepository.countByTenantIdAndCreatedBy(tenantId, userId);
-            if (noteCount >= 3) {
-                throw new SubscriptionLimitExceededException(
-                    "Note limit reached. FREE plan allows maximum 3 notes per user. Upgrade to PRO for unlimited notes."
-                );
-            }
+            quotaService.reserve(tenantId, userId, 1);
         }
 
         // Set the createdBy and tenantId fields
@@ -54,34 +134,459 @@ public class NoteServiceImpl implements NoteService {
         note.setTenantId(tenantId);
 
         // Timestamps are automatically set by @PrePersist in Note entity
-        return noteRepository.save(note);
+        Note saved = noteRepository.save(note);
+        publishMutation(NoteMutationEvent.Action.CREATED, saved, userId);
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Note> getAllNotes() {
         Long tenantId = TenantContext.getTenantId();
         return noteRepository.findByTenantId(tenantId);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<NoteSummary> getNotes(String cursor, int limit) {
+        Long tenantId = TenantContext.getTenantId();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to find out whether another page exists
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<NoteSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = noteRepository.findSummariesByTenantId(tenantId, fetchLimit);
+        } else {
+            String[] parts = KeysetCursor.decode(cursor, 2);
+            try {
+                rows = noteRepository.findSummariesByTenantIdAfter(
+                        tenantId, LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]), fetchLimit);
+            } catch (DateTimeParseException | NumberFormatException ex) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<NoteSummary> page = rows.subList(0, pageSize);
+        NoteSummary last = page.get(pageSize - 1);
+        return new CursorPage<>(page, KeysetCursor.encode(last.getUpdatedAt(), last.getId()));
+    }
+
+    /**
+     * Cursor at the current settle horizon: getChanges from it returns every change that has
+     * not settled yet, plus all later ones. Handed to note stream clients when they connect,
+     * so they can fetch announced changes in bulk. No database access.
+     */
+    @Override
+    public String getChangesCursor() {
+        LocalDateTime upTo = LocalDateTime.now().minus(syncSettleWindow).truncatedTo(ChronoUnit.MICROS);
+        return KeysetCursor.encode(upTo, Long.MAX_VALUE);
+    }
+
+    /**
+     * Delta sync: notes created, updated or deleted since the given cursor, oldest change first.
+     *
+     * Timestamps are taken in the application before commit, so only changes older than the
+     * settle window are served; a transaction that commits late therefore cannot slip in
+     * behind a cursor a client already holds. The returned cursor advances to the settle
+     * horizon once the feed is drained, which keeps idle clients inside the retention window.
+     *
+     * Deliberately not a read-only transaction, so it is always served by the primary: the
+     * settle horizon assumes every committed change is visible, which a lagging replica
+     * cannot guarantee.
+     */
+    @Override
+    @Transactional
+    public NoteChanges getChanges(String since, int limit) {
+        Long tenantId = TenantContext.getTenantId();
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE_SIZE));
+        LocalDateTime now = LocalDateTime.now();
+        // Truncated to the column precision so cursor and query bound compare exactly
+        LocalDateTime upTo = now.minus(syncSettleWindow).truncatedTo(ChronoUnit.MICROS);
+
+        LocalDateTime sinceAt = SYNC_EPOCH;
+        long sinceId = 0;
+        if (since != null && !since.isBlank()) {
+            String[] parts = KeysetCursor.decode(since, 2);
+            try {
+                sinceAt = LocalDateTime.parse(parts[0]);
+                sinceId = Long.parseLong(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException ex) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            if (sinceAt.isBefore(now.minus(tombstoneRetention))) {
+                throw new SyncCursorExpiredException("Sync cursor has expired. Perform a full resync without 'since'.");
+            }
+        }
+
+        // Fetch one extra row to find out whether another page exists
+        List<NoteChangeRow> rows = noteRepository.findChangesAfter(tenantId, sinceAt, sinceId, upTo, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<NoteChangeRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<Long> upsertIds = new ArrayList<>();
+        List<Long> deletions = new ArrayList<>();
+        for (NoteChangeRow row : page) {
+            (Boolean.TRUE.equals(row.getDeleted()) ? deletions : upsertIds).add(row.getNoteId());
+        }
+
+        // Current state of changed notes, in feed order. A note deleted after the feed query
+        // simply drops out here and shows up as a deletion on the next sync.
+        List<NoteResponse> upserts = new ArrayList<>(upsertIds.size());
+        if (!upsertIds.isEmpty()) {
+            Map<Long, Note> notes = noteRepository.findByTenantIdAndIdIn(tenantId, upsertIds).stream()
+                    .collect(Collectors.toMap(Note::getId, Function.identity()));
+            for (Long id : upsertIds) {
+                Note note = notes.get(id);
+                if (note != null) {
+                    upserts.add(NoteResponse.from(note));
+                }
+            }
+        }
+
+        String nextCursor;
+        if (hasMore) {
+            NoteChangeRow last = page.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getChangedAt(), last.getNoteId());
+        } else if (sinceAt.isBefore(upTo)) {
+            // Everything up to the horizon has been returned
+            nextCursor = KeysetCursor.encode(upTo, Long.MAX_VALUE);
+        } else {
+            nextCursor = KeysetCursor.encode(sinceAt, sinceId);
+        }
+        return new NoteChanges(upserts, deletions, nextCursor, hasMore);
+    }
+
+    /**
+     * Ranked full-text search over title and content, scoped to the current tenant.
+     * Uses websearch syntax ("quoted phrases", OR, -excluded) and keyset pagination on (rank, id).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<NoteSearchHit> searchNotes(String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query cannot be blank");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidRequestException(
+                    "Search query cannot be longer than " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+
+        Long tenantId = TenantContext.getTenantId();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<NoteSearchHit> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = noteRepository.search(tenantId, query, pageSize + 1);
+        } else {
+            String[] parts = KeysetCursor.decode(cursor, 2);
+            try {
+                rows = noteRepository.searchAfter(
+                        tenantId, query, Float.valueOf(parts[0]), Long.valueOf(parts[1]), pageSize + 1);
+            } catch (NumberFormatException ex) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<NoteSearchHit> page = rows.subList(0, pageSize);
+        NoteSearchHit last = page.get(pageSize - 1);
+        return new CursorPage<>(page, KeysetCursor.encode(last.getRank(), last.getId()));
+    }
+
+    /**
+     * Writes every note of the tenant to the stream as newline-delimited JSON.
+     *
+     * Rows come from a server-side cursor and each entity is detached once written,
+     * so heap usage stays flat regardless of tenant size. The tenant ID is passed in
+     * explicitly because this runs on an async response thread, not the request thread.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportNotes(Long tenantId, OutputStream out) throws IOException {
+        JsonGenerator generator = noteWriter.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        // The caller owns the response stream
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (Stream<Note> notes = noteRepository.streamByTenantId(tenantId)) {
+            Iterator<Note> iterator = notes.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Note note = iterator.next();
+                noteWriter.writeValue(generator, note);
+                entityManager.detach(note);
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        generator.close();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Note getNoteById(Long id) {
         Long tenantId = TenantContext.getTenantId();
-        return noteRepository.findByIdAndTenantId(id, tenantId)
+        // With the note entity cache, load by id (served from the cache) and check the tenant here;
+        // queries always go to the database
+        Optional<Note> note = noteCacheEnabled
+                ? noteRepository.findById(id).filter(found -> tenantId.equals(found.getTenantId()))
+                : noteRepository.findByIdAndTenantId(id, tenantId);
+        return note
                 .orElseThrow(() -> new ResourceNotFoundException("Note not found with id: " + id));
     }
 
+    /**
+     * Runs the tenant's count/max(updatedAt) probe and hands it to the callback, in one
+     * REPEATABLE READ transaction. Listing reads made by the callback join it and see the
+     * same snapshot, so a validator built from the probe describes what they return.
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public <T> T withNotesFreshness(Function<NotesFreshness, T> read) {
+        return read.apply(noteRepository.findFreshnessByTenantId(TenantContext.getTenantId()));
+    }
+
     @Override
+    @Transactional
     public Note updateNote(Long id, Note updatedNote) {
-        Note existingNote = getNoteById(id);
-        existingNote.setTitle(updatedNote.getTitle());
-        existingNote.setContent(updatedNote.getContent());
-        // updatedAt is automatically set by @PreUpdate in Note entity
-        return noteRepository.save(existingNote);
+        return updateNote(id, updatedNote, null);
+    }
+
+    /**
+     * Updates title and content in a single UPDATE ... RETURNING statement.
+     *
+     * With an expected version the update is a compare-and-set: if the note was changed
+     * in the meantime nothing is written and PreconditionFailedException is thrown, so
+     * concurrent editors cannot silently overwrite each other.
+     *
+     * With the note entity cache the native statement is not used: it bypasses the cache's
+     * read-write locking, so a read that loaded the old row could re-cache it after the
+     * update. The note is updated as a managed entity instead (see updateCachedNote).
+     */
+    @Override
+    @Transactional
+    public Note updateNote(Long id, Note updatedNote, Long expectedVersion) {
+        if (noteCacheEnabled) {
+            return updateCachedNote(id, updatedNote, expectedVersion);
+        }
+        Long tenantId = TenantContext.getTenantId();
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<Note> updated = expectedVersion == null
+                ? noteRepository.updateContent(id, tenantId, updatedNote.getTitle(), updatedNote.getContent(), now)
+                : noteRepository.updateContentIfVersion(
+                        id, tenantId, expectedVersion, updatedNote.getTitle(), updatedNote.getContent(), now);
+        if (updated.isPresent()) {
+            publishMutation(NoteMutationEvent.Action.UPDATED, updated.get(), currentUserId());
+            return updated.get();
+        }
+
+        // Nothing matched: tell a missing note apart from a stale version (failure path only)
+        if (expectedVersion != null && noteRepository.existsByIdAndTenantId(id, tenantId)) {
+            throw new PreconditionFailedException(
+                    "Note has been modified by someone else. Reload it and try again.");
+        }
+        throw new ResourceNotFoundException("Note not found with id: " + id);
+    }
+
+    // Entity update, so Hibernate soft-locks the cached note until commit and then caches the new
+    // version. The row lock reads the current row from the database (not the cache) and serializes
+    // concurrent writers, so the version check below is exact.
+    private Note updateCachedNote(Long id, Note updatedNote, Long expectedVersion) {
+        Long tenantId = TenantContext.getTenantId();
+        Note note = Optional.ofNullable(entityManager.find(Note.class, id, LockModeType.PESSIMISTIC_WRITE))
+                .filter(found -> tenantId.equals(found.getTenantId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Note not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(note.getVersion())) {
+            throw new PreconditionFailedException(
+                    "Note has been modified by someone else. Reload it and try again.");
+        }
+        note.setTitle(updatedNote.getTitle());
+        note.setContent(updatedNote.getContent());
+        // Flush now so the response and the published event carry the new version
+        entityManager.flush();
+        publishMutation(NoteMutationEvent.Action.UPDATED, note, currentUserId());
+        return note;
     }
 
     @Override
+    @Transactional
     public void deleteNote(Long id) {
         Note note = getNoteById(id);
         noteRepository.delete(note);
+        // Leave a tombstone so delta sync clients learn about the deletion
+        entityManager.persist(new NoteTombstone(note.getId(), note.getTenantId()));
+        publishMutation(NoteMutationEvent.Action.DELETED, note, currentUserId());
+
+        // Give the slot back to the note's author on FREE plans
+        if (isFreePlan(note.getTenantId())) {
+            quotaService.release(note.getTenantId(), note.getCreatedBy(), 1);
+        }
+    }
+
+    /**
+     * Applies mixed create/update/delete operations in request order within one transaction.
+     *
+     * Invalid operations are reported per item and do not affect the others. Target notes are
+     * loaded with a single query, the FREE plan quota is reserved once for all creates (those
+     * beyond the remaining quota fail individually with 403, in request order), and the
+     * resulting INSERT/UPDATE/DELETE statements are flushed as JDBC batches at commit.
+     */
+    @Override
+    @Transactional
+    public NoteBatchResponse applyBatch(List<NoteBatchOperation> operations) {
+        if (operations.size() > maxBatchOperations) {
+            throw new InvalidRequestException("A batch may contain at most " + maxBatchOperations + " operations");
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = (Long) authentication.getPrincipal();
+        Long tenantId = TenantContext.getTenantId();
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+
+        Tenant tenant = tenantCache.findById(tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                    "Tenant not found with id: " + tenantId +
+                    ". Your session may be stale. Please logout and register/login again."));
+        boolean freePlan = tenant.getSubscriptionPlan() == SubscriptionPlan.FREE;
+
+        // Load every note targeted by an update or delete in one round trip
+        List<Long> targetIds = operations.stream()
+                .filter(op -> op.getOp() != NoteBatchOperation.Type.CREATE && op.getId() != null)
+                .map(NoteBatchOperation::getId)
+                .distinct()
+                .toList();
+        Map<Long, Note> targets = targetIds.isEmpty()
+                ? new HashMap<>()
+                : noteRepository.findByTenantIdAndIdIn(tenantId, targetIds).stream()
+                        .collect(Collectors.toMap(Note::getId, Function.identity()));
+
+        // Reserve quota for the valid creates at once; the first ones that fit get it
+        int creates = (int) operations.stream()
+                .filter(op -> op.getOp() == NoteBatchOperation.Type.CREATE && validateContent(op) == null)
+                .count();
+        int grantedCreates = !freePlan || creates == 0
+                ? creates
+                : quotaService.reserveUpTo(tenantId, userId, creates);
+
+        List<NoteBatchResult> results = new ArrayList<>(operations.size());
+        Map<Long, Integer> releasedSlots = new HashMap<>();
+        // Successful operations in request order, audited once their versions are known
+        List<Map.Entry<NoteMutationEvent.Action, Note>> mutations = new ArrayList<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            NoteBatchOperation op = operations.get(i);
+            NoteBatchOperation.Type type = op.getOp();
+
+            if (type == NoteBatchOperation.Type.CREATE) {
+                String error = validateContent(op);
+                if (error != null) {
+                    results.add(NoteBatchResult.failure(i, type, null, 400, error));
+                } else if (grantedCreates == 0) {
+                    results.add(NoteBatchResult.failure(i, type, null, 403, quotaService.getLimitMessage()));
+                } else {
+                    grantedCreates--;
+                    Note note = new Note();
+                    note.setTitle(op.getTitle());
+                    note.setContent(op.getContent());
+                    note.setCreatedBy(userId);
+                    note.setTenantId(tenantId);
+                    // Sequence-generated id is assigned here; the INSERT itself is batched at flush
+                    entityManager.persist(note);
+                    mutations.add(Map.entry(NoteMutationEvent.Action.CREATED, note));
+                    results.add(NoteBatchResult.success(i, type, note.getId(), 201));
+                }
+                continue;
+            }
+
+            if (op.getId() == null) {
+                results.add(NoteBatchResult.failure(i, type, null, 400, "Note id is required"));
+                continue;
+            }
+            Note existing = targets.get(op.getId());
+            if (existing == null) {
+                results.add(NoteBatchResult.failure(i, type, op.getId(), 404, "Note not found with id: " + op.getId()));
+                continue;
+            }
+
+            if (type == NoteBatchOperation.Type.UPDATE) {
+                String error = validateContent(op);
+                if (error != null) {
+                    results.add(NoteBatchResult.failure(i, type, op.getId(), 400, error));
+                } else {
+                    // Managed entity - the UPDATE is issued at flush
+                    existing.setTitle(op.getTitle());
+                    existing.setContent(op.getContent());
+                    mutations.add(Map.entry(NoteMutationEvent.Action.UPDATED, existing));
+                    results.add(NoteBatchResult.success(i, type, op.getId(), 200));
+                }
+            } else {
+                if (!admin) {
+                    results.add(NoteBatchResult.failure(i, type, op.getId(), 403,
+                            "Forbidden: You don't have permission to perform this action"));
+                    continue;
+                }
+                noteRepository.delete(existing);
+                entityManager.persist(new NoteTombstone(existing.getId(), tenantId));
+                targets.remove(op.getId());
+                mutations.add(Map.entry(NoteMutationEvent.Action.DELETED, existing));
+                releasedSlots.merge(existing.getCreatedBy(), 1, Integer::sum);
+                results.add(NoteBatchResult.success(i, type, op.getId(), 204));
+            }
+        }
+
+        if (freePlan) {
+            releasedSlots.forEach((authorId, slots) -> quotaService.release(tenantId, authorId, slots));
+        }
+
+        // Updated notes get their new version when flushed; flushing now instead of at commit
+        // sends the same statement batches
+        if (mutations.stream().anyMatch(mutation -> mutation.getKey() == NoteMutationEvent.Action.UPDATED)) {
+            entityManager.flush();
+        }
+        mutations.forEach(mutation -> publishMutation(mutation.getKey(), mutation.getValue(), userId));
+
+        return new NoteBatchResponse(results);
+    }
+
+    // Mirrors the @NotBlank constraints on Note; returns null when the operation is valid
+    private String validateContent(NoteBatchOperation op) {
+        if (op.getTitle() == null || op.getTitle().isBlank()) {
+            return "Title cannot be blank";
+        }
+        if (op.getTitle().length() > 255) {
+            return "Title cannot be longer than 255 characters";
+        }
+        if (op.getContent() == null || op.getContent().isBlank()) {
+            return "Content cannot be blank";
+        }
+        return null;
+    }
+
+    // Audited through the outbox listener, in the current transaction
+    private void publishMutation(NoteMutationEvent.Action action, Note note, Long actorId) {
+        Long version = action == NoteMutationEvent.Action.DELETED ? null : note.getVersion();
+        eventPublisher.publishEvent(new NoteMutationEvent(action, note.getId(), note.getTenantId(), actorId, version));
+    }
+
+    private static Long currentUserId() {
+        return (Long) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    private boolean isFreePlan(Long tenantId) {
+        return tenantCache.findById(tenantId)
+                .map(tenant -> tenant.getSubscriptionPlan() == SubscriptionPlan.FREE)
+                .orElse(false);
     }
 }
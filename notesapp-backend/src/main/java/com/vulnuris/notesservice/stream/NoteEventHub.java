@@ -0,0 +1,342 @@
+package com.vulnuris.notesservice.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vulnuris.notesservice.audit.NoteMutationEvent;
+import com.vulnuris.notesservice.dto.NoteStreamEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of note changes to Server-Sent Events subscribers, per tenant.
+ *
+ * Publishing never blocks the caller: each event is serialized once and offered to every
+ * subscriber's bounded buffer, and a small sender pool writes the buffers to the
+ * connections. A subscriber whose buffer is full is too slow to keep up and is
+ * disconnected (it reconnects and catches up through the change feed) rather than
+ * holding memory or delaying anyone else.
+ *
+ * Writes are blocking, so a client that stops reading (stalled TCP window) would hold a
+ * sender thread until the server's write timeout. A watchdog disconnects any subscriber
+ * whose write has been in progress longer than notes.stream.send-timeout and grows the
+ * pool by one thread until that write returns, so the other subscribers keep their senders.
+ *
+ * Idle connections hold no thread. A periodic heartbeat comment keeps proxies from closing
+ * them and detects clients that went away.
+ *
+ * Subscribers are tracked per instance; with several instances, each one only pushes the
+ * changes made through it.
+ */
+@Component
+public class NoteEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(NoteEventHub.class);
+
+    private final Map<Long, Set<Subscriber>> subscribersByTenant = new ConcurrentHashMap<>();
+    // Subscribers with a drain task running, watched for stalled writes (closed ones included)
+    private final Set<Subscriber> drainingSubscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    // Writes stuck past the send timeout, each replaced by an extra sender thread (up to maxStalledSends)
+    private final AtomicInteger stalledSends = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor senderPool;
+    private final ExecutorService sender;
+    private final Counter slowConsumerDisconnects;
+    private final int bufferSize;
+    private final int maxSubscribersPerTenant;
+    private final Duration connectionTimeout;
+    private final int senderThreads;
+    private final long sendTimeoutNanos;
+    private final int maxStalledSends;
+
+    public NoteEventHub(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${notes.stream.buffer-size:64}") int bufferSize,
+            @Value("${notes.stream.max-subscribers-per-tenant:1000}") int maxSubscribersPerTenant,
+            @Value("${notes.stream.timeout:30m}") Duration connectionTimeout,
+            @Value("${notes.stream.sender-threads:2}") int senderThreads,
+            @Value("${notes.stream.send-timeout:10s}") Duration sendTimeout,
+            @Value("${notes.stream.max-stalled-sends:64}") int maxStalledSends
+    ) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribersPerTenant = maxSubscribersPerTenant;
+        this.connectionTimeout = connectionTimeout;
+        this.senderThreads = senderThreads;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.maxStalledSends = maxStalledSends;
+        // Each subscriber has at most one drain task queued, so this queue is bounded by the subscriber count
+        this.senderPool = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("note-stream-"));
+        this.sender = ExecutorServiceMetrics.monitor(meterRegistry, senderPool, "notes.stream.sender");
+        Gauge.builder("notes.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open note change streams")
+                .register(meterRegistry);
+        this.slowConsumerDisconnects = Counter.builder("notes.stream.slow.consumers")
+                .description("Note change streams closed because the client did not keep up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for a tenant, or returns empty when the tenant already has the
+     * maximum number of open streams. The stream starts with a "sync" event carrying
+     * the given /api/notes/changes cursor.
+     */
+    public Optional<SseEmitter> subscribe(Long tenantId, String syncCursor) {
+        Subscriber subscriber = new Subscriber(tenantId, newEmitter(), bufferSize);
+        // Buffered before publishers can see the stream, so it is always the first event
+        subscriber.buffer.add(StreamMessage.event("sync", syncEventData(syncCursor)));
+
+        // Atomic per tenant, like remove, so a tenant's set is never dropped while a subscriber joins it
+        Set<Subscriber> subscribers = subscribersByTenant.compute(tenantId, (id, current) -> {
+            Set<Subscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            if (set.size() < maxSubscribersPerTenant) {
+                set.add(subscriber);
+            }
+            return set.isEmpty() ? null : set;
+        });
+        if (subscribers == null || !subscribers.contains(subscriber)) {
+            return Optional.empty();
+        }
+        subscriberCount.incrementAndGet();
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        subscriber.emitter.onError(error -> remove(subscriber));
+
+        // Sent right away so the response headers go out and the client knows it is connected
+        scheduleDrain(subscriber);
+        return Optional.of(subscriber.emitter);
+    }
+
+    /**
+     * Sends a note change to every stream of its tenant. Never blocks.
+     */
+    public void publish(NoteMutationEvent event) {
+        Set<Subscriber> subscribers = subscribersByTenant.get(event.getTenantId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(NoteStreamEvent.from(event));
+        } catch (JsonProcessingException ex) {
+            log.error("Could not serialize note stream event for note {}", event.getNoteId(), ex);
+            return;
+        }
+        StreamMessage message = StreamMessage.event(event.getAction().name().toLowerCase(Locale.ROOT), data);
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, message);
+        }
+    }
+
+    private String syncEventData(String syncCursor) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("cursor", syncCursor));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notes.stream.heartbeat-interval:25s}",
+            initialDelayString = "${notes.stream.heartbeat-interval:25s}")
+    public void sendHeartbeats() {
+        StreamMessage heartbeat = StreamMessage.comment("heartbeat");
+        subscribersByTenant.values().forEach(subscribers -> subscribers.forEach(s -> enqueue(s, heartbeat)));
+    }
+
+    /**
+     * Disconnects subscribers whose current write has not returned within the send timeout,
+     * and adds a sender thread for each until its write returns.
+     */
+    @Scheduled(fixedDelayString = "${notes.stream.send-check-interval:1s}")
+    public void disconnectStalledSubscribers() {
+        long now = System.nanoTime();
+        drainingSubscribers.forEach(subscriber -> {
+            long startedAt = subscriber.sendStartedAt.get();
+            if (startedAt != Subscriber.IDLE && startedAt != Subscriber.STALLED
+                    && now - startedAt > sendTimeoutNanos
+                    && subscriber.sendStartedAt.compareAndSet(startedAt, Subscriber.STALLED)) {
+                slowConsumerDisconnects.increment();
+                log.debug("Closing note stream of tenant {}: write stalled", subscriber.tenantId);
+                // The emitter stays locked by the stuck write; the sender completes it once the write returns
+                close(subscriber);
+                stalledSends.incrementAndGet();
+                resizeSender();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribersByTenant.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        sender.shutdown();
+    }
+
+    // Creates the emitter of a new subscriber; overridden in tests
+    SseEmitter newEmitter() {
+        return new SseEmitter(connectionTimeout.toMillis());
+    }
+
+    private void enqueue(Subscriber subscriber, StreamMessage message) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.buffer.offer(message)) {
+            slowConsumerDisconnects.increment();
+            log.debug("Closing note stream of tenant {}: client is not keeping up", subscriber.tenantId);
+            // Completed by the sender: complete() waits for an in-progress write, and publishers must not block
+            close(subscriber);
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> {
+                drainingSubscribers.add(subscriber);
+                try {
+                    drain(subscriber);
+                } finally {
+                    drainingSubscribers.remove(subscriber);
+                }
+            });
+        }
+    }
+
+    // Writes everything buffered for one subscriber; runs on the sender pool, one task per subscriber at a time
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            if (subscriber.closed) {
+                // Leaves draining set, so nothing is scheduled for this subscriber again
+                subscriber.buffer.clear();
+                subscriber.emitter.complete();
+                return;
+            }
+            StreamMessage message = subscriber.buffer.poll();
+            if (message == null) {
+                subscriber.draining.set(false);
+                // Re-check: a message may have been buffered after the poll but before the flag was cleared
+                if (subscriber.buffer.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            if (!send(subscriber, message)) {
+                return;
+            }
+        }
+    }
+
+    private boolean send(Subscriber subscriber, StreamMessage message) {
+        subscriber.sendStartedAt.set(System.nanoTime());
+        try {
+            subscriber.emitter.send(message.toSseEvent());
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away or the emitter is already complete
+            remove(subscriber);
+            subscriber.buffer.clear();
+            return false;
+        } finally {
+            if (subscriber.sendStartedAt.getAndSet(Subscriber.IDLE) == Subscriber.STALLED) {
+                // The watchdog replaced this thread while the write was stuck; give the extra thread back
+                stalledSends.decrementAndGet();
+                resizeSender();
+            }
+        }
+    }
+
+    private synchronized void resizeSender() {
+        int size = senderThreads + Math.min(stalledSends.get(), maxStalledSends);
+        // Maximum pool size may never be below the core size, so the order depends on the direction
+        if (size > senderPool.getMaximumPoolSize()) {
+            senderPool.setMaximumPoolSize(size);
+            senderPool.setCorePoolSize(size);
+        } else {
+            senderPool.setCorePoolSize(size);
+            senderPool.setMaximumPoolSize(size);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        remove(subscriber);
+    }
+
+    // Drops the tenant's entry with its last stream, so heartbeats only visit tenants that are listening
+    private void remove(Subscriber subscriber) {
+        subscribersByTenant.computeIfPresent(subscriber.tenantId, (id, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static final class Subscriber {
+
+        // Values of sendStartedAt besides System.nanoTime() of the write in progress
+        private static final long IDLE = Long.MIN_VALUE;
+        private static final long STALLED = Long.MAX_VALUE;
+
+        private final Long tenantId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamMessage> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong sendStartedAt = new AtomicLong(IDLE);
+        // Removed from the hub; the sender completes the emitter and stops
+        private volatile boolean closed;
+
+        private Subscriber(Long tenantId, SseEmitter emitter, int bufferSize) {
+            this.tenantId = tenantId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    // An event (name + JSON data) or a comment line; immutable, so one instance is shared by all subscribers
+    private record StreamMessage(String name, String data, String comment) {
+
+        static StreamMessage event(String name, String data) {
+            return new StreamMessage(name, data, null);
+        }
+
+        static StreamMessage comment(String comment) {
+            return new StreamMessage(null, null, comment);
+        }
+
+        SseEmitter.SseEventBuilder toSseEvent() {
+            return comment != null
+                    ? SseEmitter.event().comment(comment)
+                    : SseEmitter.event().name(name).data(data);
+        }
+    }
+}
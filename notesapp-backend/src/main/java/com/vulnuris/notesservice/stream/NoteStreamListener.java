@@ -0,0 +1,25 @@
+package com.vulnuris.notesservice.stream;
+
+import com.vulnuris.notesservice.audit.NoteMutationEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes note mutations to the tenant's stream subscribers once the mutating transaction
+ * has committed, so clients are never told about changes that were rolled back.
+ */
+@Component
+public class NoteStreamListener {
+
+    private final NoteEventHub hub;
+
+    public NoteStreamListener(NoteEventHub hub) {
+        this.hub = hub;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNoteMutation(NoteMutationEvent event) {
+        hub.publish(event);
+    }
+}
@@ -0,0 +1,40 @@
+package com.vulnuris.notesservice.sync;
+
+import com.vulnuris.notesservice.repository.NoteTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Periodically purges note tombstones older than the sync retention window.
+ *
+ * Sync cursors older than the same window are rejected with 410 Gone, so no client
+ * can still need a purged tombstone.
+ */
+@Component
+public class TombstoneRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TombstoneRetentionJob.class);
+
+    private final NoteTombstoneRepository tombstoneRepository;
+    private final Duration retention;
+
+    public TombstoneRetentionJob(NoteTombstoneRepository tombstoneRepository,
+                                 @Value("${notes.sync.tombstone-retention:30d}") Duration retention) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${notes.sync.purge-interval:1h}", initialDelayString = "${notes.sync.purge-interval:1h}")
+    public void purgeExpiredTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} note tombstones older than {}", purged, retention);
+        }
+    }
+}
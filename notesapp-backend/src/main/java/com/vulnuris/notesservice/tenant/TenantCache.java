@@ -0,0 +1,99 @@
+package com.vulnuris.notesservice.tenant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vulnuris.notesservice.model.Tenant;
+import com.vulnuris.notesservice.repository.TenantRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of tenant metadata.
+ *
+ * Tenants are read on almost every write (to check the subscription plan) but change
+ * very rarely, so lookups are served from memory with size-based eviction and a TTL.
+ * Anything that modifies a tenant must call {@link #invalidate(Long)}.
+ *
+ * Name lookups (used by registration to resolve the tenant behind an invite code) cache
+ * only the name-to-id mapping and then go through the id cache, so invalidating by id
+ * covers them too.
+ *
+ * Cached instances are shared between threads and must be treated as read-only.
+ * Hit/miss statistics are published as the "tenants" cache metrics.
+ */
+@Component
+public class TenantCache {
+
+    private final TenantRepository tenantRepository;
+    private final Cache<Long, Tenant> cache;
+    private final Cache<String, Long> idsByName;
+
+    public TenantCache(
+            TenantRepository tenantRepository,
+            MeterRegistry meterRegistry,
+            @Value("${tenant.cache.max-size:10000}") long maxSize,
+            @Value("${tenant.cache.ttl:10m}") Duration ttl
+    ) {
+        this.tenantRepository = tenantRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tenants");
+        this.idsByName = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByName, "tenant.names");
+    }
+
+    public Optional<Tenant> findById(Long tenantId) {
+        // Missing tenants are not cached, so a tenant created later is picked up immediately
+        return Optional.ofNullable(cache.get(tenantId, id -> tenantRepository.findById(id).orElse(null)));
+    }
+
+    public Optional<Tenant> findByName(String name) {
+        // Missing names are not cached either
+        Long tenantId = idsByName.get(name, this::loadIdByName);
+        Optional<Tenant> tenant = tenantId == null ? Optional.empty() : findById(tenantId);
+        if (tenantId != null && tenant.isEmpty()) {
+            // Deleted since the name was cached (e.g. a DB reset), and possibly re-created
+            idsByName.invalidate(name);
+            tenantId = idsByName.get(name, this::loadIdByName);
+            tenant = tenantId == null ? Optional.empty() : findById(tenantId);
+        }
+        return tenant;
+    }
+
+    /**
+     * Caches a tenant that was just created.
+     */
+    public void put(Tenant tenant) {
+        cache.put(tenant.getId(), tenant);
+        idsByName.put(tenant.getName(), tenant.getId());
+    }
+
+    private Long loadIdByName(String name) {
+        return tenantRepository.findByName(name)
+                .map(tenant -> {
+                    cache.put(tenant.getId(), tenant);
+                    return tenant.getId();
+                })
+                .orElse(null);
+    }
+
+    public boolean existsById(Long tenantId) {
+        return findById(tenantId).isPresent();
+    }
+
+    public void invalidate(Long tenantId) {
+        cache.invalidate(tenantId);
+    }
+}
@@ -1,5 +1,13 @@
 package com.vulnuris.notesservice.tenant;
 
+/**
+ * Tenant of the current request, set by JwtAuthFilter and cleared when the request ends.
+ *
+ * Backed by a ThreadLocal, which is per virtual thread as well, so it is safe with
+ * spring.threads.virtual.enabled. Work handed to the application task executor gets the
+ * tenant through TenantContextTaskDecorator; any other hand-off must capture the id
+ * explicitly (see NoteController#exportNotes).
+ */
 public class TenantContext {
 
     private static final ThreadLocal<Long> TENANT_ID = new ThreadLocal<>();
@@ -16,4 +24,3 @@ public class TenantContext {
         TENANT_ID.remove();
     }
 }
-
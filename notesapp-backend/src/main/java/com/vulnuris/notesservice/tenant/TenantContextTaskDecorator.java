@@ -0,0 +1,46 @@
+package com.vulnuris.notesservice.tenant;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the request's tenant and authentication over to tasks run on the application
+ * task executor (MVC async processing, @Async, etc.).
+ *
+ * Spring Boot applies a single TaskDecorator bean to its auto-configured executors, both the
+ * thread pool and the virtual-thread one. The submitting thread's state is captured when the
+ * task is submitted and the worker's own state is restored afterwards, so nothing leaks into
+ * pooled threads.
+ */
+@Component
+public class TenantContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Long tenantId = TenantContext.getTenantId();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        return () -> {
+            Long previousTenantId = TenantContext.getTenantId();
+            SecurityContext previousContext = SecurityContextHolder.getContext();
+            try {
+                TenantContext.setTenantId(tenantId);
+                // Fresh context per task; SecurityContext instances are not meant to be shared across threads
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+                runnable.run();
+            } finally {
+                if (previousTenantId != null) {
+                    TenantContext.setTenantId(previousTenantId);
+                } else {
+                    TenantContext.clear();
+                }
+                SecurityContextHolder.setContext(previousContext);
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.vulnuris.notesservice.tenant;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records request count and latency per tenant as the "notes.tenant.requests" timer.
+ *
+ * Runs after JwtAuthFilter, so TenantContext is populated for authenticated requests.
+ * The tenant tag is capped by MetricsConfig: beyond the configured number of distinct
+ * tenants, further tenants are reported as "other".
+ */
+public class TenantRequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "notes.tenant.requests";
+    public static final String TENANT_TAG = "tenant";
+
+    private final MeterRegistry meterRegistry;
+
+    public TenantRequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Long tenantId = TenantContext.getTenantId();
+        if (tenantId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Timer.builder(METRIC_NAME)
+                    .description("Authenticated requests per tenant")
+                    .tag(TENANT_TAG, tenantId.toString())
+                    .tag("method", request.getMethod())
+                    .tag("outcome", Outcome.forStatus(response.getStatus()).name())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,10 +0,0 @@
--- ========================================
--- Multi-Tenant Notes App - Initial Data
--- ========================================
--- NOTE: Tenants are created on-demand during user registration.
--- This file is optional and only seeds test users for convenience.
--- ========================================
-
--- No initial data required - tenants and users are created via /auth/register endpoint
--- The application handles tenant creation automatically when users register.
-
@@ -0,0 +1,71 @@
+-- ========================================
+-- Multi-Tenant Notes App - Baseline schema
+-- ========================================
+-- Creates the schema on an empty database, and brings a database created by the
+-- former ddl-auto=update + schema.sql setup to the same state. Every statement is
+-- idempotent so it can run on both.
+--
+-- Adopting an existing database needs downtime: adding the generated search_vector
+-- column rewrites the notes table under an ACCESS EXCLUSIVE lock, which blocks reads
+-- and writes until every row is rewritten. The notes indexes are built afterwards,
+-- without blocking writes, by the ConcurrentIndexMigration steps in MigrationConfig.
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS tenants (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name              varchar(255) NOT NULL UNIQUE,
+    subscription_plan varchar(255) NOT NULL CHECK (subscription_plan IN ('FREE', 'PRO'))
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id        bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email     varchar(255) NOT NULL UNIQUE,
+    password  varchar(255) NOT NULL,
+    role      varchar(255) NOT NULL CHECK (role IN ('ADMIN', 'MEMBER')),
+    tenant_id bigint       NOT NULL
+);
+
+-- Ids come from the pooled notes_seq sequence (allocation size 50), assigned by the application
+CREATE SEQUENCE IF NOT EXISTS notes_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS notes (
+    id         bigint       NOT NULL PRIMARY KEY,
+    content    text         NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    created_by bigint       NOT NULL,
+    tenant_id  bigint       NOT NULL,
+    title      varchar(255) NOT NULL,
+    updated_at timestamp(6) NOT NULL
+);
+
+-- Older databases assigned note ids through an IDENTITY column. Move the sequence past
+-- them, and never backwards (running instances may hold allocated blocks).
+SELECT setval('notes_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM notes), (SELECT last_value FROM notes_seq)));
+
+-- Optimistic lock version; the default backfills existing rows
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- Full-text search: a generated tsvector over title (weight A) and content (weight B).
+-- Content is capped at 100k characters so very large notes stay under the 1MB tsvector limit.
+-- Indexed by migration 7 (GIN).
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', left(coalesce(content, ''), 100000)), 'B')
+    ) STORED;
+
+CREATE TABLE IF NOT EXISTS note_quota (
+    tenant_id bigint  NOT NULL,
+    user_id   bigint  NOT NULL,
+    used      integer NOT NULL,
+    PRIMARY KEY (tenant_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS note_tombstones (
+    note_id    bigint       NOT NULL PRIMARY KEY,
+    tenant_id  bigint       NOT NULL,
+    deleted_at timestamp(6) NOT NULL
+);
+
+-- Delta sync: tenant_id = ? AND (deleted_at, note_id) > (?, ?) ORDER BY deleted_at, note_id
+CREATE INDEX IF NOT EXISTS idx_note_tombstones_tenant_deleted_note ON note_tombstones (tenant_id, deleted_at, note_id);
@@ -0,0 +1,33 @@
+-- ========================================
+-- Audit trail of note mutations
+-- ========================================
+-- note_audit_outbox is written in the mutating transaction and kept small: the
+-- primary key plus the occurred_at index the relay drains by (migration 5).
+-- AuditOutboxRelay moves its rows to the append-only note_audit_log in bulk.
+-- ========================================
+
+CREATE SEQUENCE note_audit_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE note_audit_outbox (
+    id           bigint       NOT NULL PRIMARY KEY,
+    action       varchar(16)  NOT NULL,
+    note_id      bigint       NOT NULL,
+    tenant_id    bigint       NOT NULL,
+    actor_id     bigint,
+    note_version bigint,
+    occurred_at  timestamp(6) NOT NULL
+);
+
+-- Same id as the outbox record, so the log keeps the order in which changes were recorded
+CREATE TABLE note_audit_log (
+    id           bigint       NOT NULL PRIMARY KEY,
+    action       varchar(16)  NOT NULL,
+    note_id      bigint       NOT NULL,
+    tenant_id    bigint       NOT NULL,
+    actor_id     bigint,
+    note_version bigint,
+    occurred_at  timestamp(6) NOT NULL
+);
+
+-- A tenant's audit trail in time order
+CREATE INDEX idx_note_audit_log_tenant_occurred ON note_audit_log (tenant_id, occurred_at, id);
@@ -0,0 +1,34 @@
+-- ========================================
+-- LZ4 compression for note content
+-- ========================================
+-- PostgreSQL already compresses large values transparently (TOAST, pglz by default)
+-- before storing them, so multi-megabyte notes never take their raw size on disk.
+-- LZ4 compresses and decompresses several times faster than pglz at a similar ratio,
+-- which cuts the CPU cost of writing and reading big notes; search, previews and
+-- snippets keep working on the column as before.
+--
+-- Applies to values written from now on; existing values stay pglz-compressed (both
+-- are readable) until the note is next updated.
+--
+-- Needs PostgreSQL 14+ built with lz4; otherwise this is a no-op.
+-- ========================================
+
+DO $$
+DECLARE
+    rel regclass;
+BEGIN
+    IF current_setting('server_version_num')::int < 140000 THEN
+        RAISE NOTICE 'PostgreSQL 14+ required for lz4 column compression; note content stays pglz-compressed';
+        RETURN;
+    END IF;
+    -- The setting does not propagate to existing partitions (partition-notes-by-tenant.sql),
+    -- so set it on each of them too. Dynamic SQL, so a server without lz4 fails here and
+    -- not when the block is parsed.
+    FOR rel IN SELECT 'notes'::regclass UNION SELECT relid FROM pg_partition_tree('notes') LOOP
+        EXECUTE format('ALTER TABLE %s ALTER COLUMN content SET COMPRESSION lz4', rel);
+    END LOOP;
+EXCEPTION
+    WHEN feature_not_supported THEN
+        RAISE NOTICE 'Server built without lz4; note content stays pglz-compressed';
+END
+$$;
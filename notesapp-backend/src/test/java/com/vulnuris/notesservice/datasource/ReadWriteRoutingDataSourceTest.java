@@ -0,0 +1,79 @@
+package com.vulnuris.notesservice.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica0Connection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+
+    private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+            stub(primaryConnection), List.of(stub(replica0Connection), stub(replica1Connection)), Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void usesPrimaryOutsideTransactions() throws Exception {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void spreadsReadOnlyTransactionsAcrossReplicas() throws Exception {
+        inTransaction(true);
+        assertThat(List.of(routing.getConnection(), routing.getConnection()))
+                .containsExactlyInAnyOrder(replica0Connection, replica1Connection);
+    }
+
+    @Test
+    void pinsUserToPrimaryAfterWrite() throws Exception {
+        authenticate(7L);
+        inTransaction(false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        inTransaction(true);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        // Other users still read from replicas
+        authenticate(8L);
+        assertThat(routing.getConnection()).isNotSameAs(primaryConnection);
+    }
+
+    private static DataSource stub(Connection connection) {
+        DataSource dataSource = mock(DataSource.class);
+        try {
+            when(dataSource.getConnection()).thenReturn(connection);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return dataSource;
+    }
+
+    private static void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void authenticate(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+}
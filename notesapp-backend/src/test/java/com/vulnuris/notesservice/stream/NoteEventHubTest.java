@@ -0,0 +1,99 @@
+package com.vulnuris.notesservice.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vulnuris.notesservice.audit.NoteMutationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoteEventHubTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+    private final CountDownLatch releaseStalledWrite = new CountDownLatch(1);
+
+    // One sender thread, so a stuck write would block every other subscriber without the watchdog
+    private final NoteEventHub hub = new NoteEventHub(new ObjectMapper().findAndRegisterModules(), meterRegistry,
+            64, 100, Duration.ofMinutes(1), 1, Duration.ofMillis(100), 4) {
+        @Override
+        SseEmitter newEmitter() {
+            return emitters.poll();
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        releaseStalledWrite.countDown();
+        hub.shutdown();
+    }
+
+    @Test
+    void stalledSubscriberDoesNotDelayOthers() throws Exception {
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter(2);
+        emitters.add(stalled);
+        emitters.add(healthy);
+
+        hub.subscribe(1L, "cursor");
+        assertThat(stalled.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        hub.subscribe(1L, "cursor");
+        hub.publish(new NoteMutationEvent(NoteMutationEvent.Action.UPDATED, 42L, 1L, 7L, 3L));
+
+        Thread.sleep(200);
+        hub.disconnectStalledSubscribers();
+
+        // "sync" event and the update, while the stalled write is still stuck
+        assertThat(healthy.received.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("notes.stream.subscribers").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("notes.stream.slow.consumers").counter().count()).isEqualTo(1.0);
+
+        // Once the write returns, the stalled stream is closed
+        releaseStalledWrite.countDown();
+        assertThat(stalled.completed.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writing.countDown();
+            try {
+                releaseStalledWrite.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch received;
+
+        RecordingEmitter(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.countDown();
+        }
+    }
+}
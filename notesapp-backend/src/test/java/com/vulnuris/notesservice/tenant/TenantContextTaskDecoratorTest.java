@@ -0,0 +1,92 @@
+package com.vulnuris.notesservice.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantContextTaskDecoratorTest {
+
+    private final TenantContextTaskDecorator decorator = new TenantContextTaskDecorator();
+    // A single pooled thread, so every task below runs on the same worker
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdownNow();
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void runsTaskWithSubmitterContextAndRestoresWorkerContext() throws Exception {
+        Authentication workerAuthentication = authentication(99L);
+        AtomicReference<SecurityContext> workerContext = new AtomicReference<>();
+        run(() -> {
+            // State left on the pooled thread by an earlier task
+            TenantContext.setTenantId(2L);
+            SecurityContextHolder.getContext().setAuthentication(workerAuthentication);
+            workerContext.set(SecurityContextHolder.getContext());
+        });
+
+        Authentication requestAuthentication = authentication(7L);
+        TenantContext.setTenantId(1L);
+        SecurityContextHolder.getContext().setAuthentication(requestAuthentication);
+        SecurityContext requestContext = SecurityContextHolder.getContext();
+        Runnable decorated = decorator.decorate(() -> {
+            assertThat(TenantContext.getTenantId()).isEqualTo(1L);
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(requestAuthentication);
+            // A fresh context: the submitter's instance is not shared across threads
+            assertThat(SecurityContextHolder.getContext()).isNotSameAs(requestContext);
+        });
+        // Captured at decoration time, not when the task runs
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+        run(decorated);
+
+        run(() -> {
+            assertThat(TenantContext.getTenantId()).isEqualTo(2L);
+            assertThat(SecurityContextHolder.getContext()).isSameAs(workerContext.get());
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(workerAuthentication);
+        });
+    }
+
+    @Test
+    void clearsTenantOnWorkerWithoutOne() throws Exception {
+        TenantContext.setTenantId(1L);
+        Runnable decorated = decorator.decorate(() -> assertThat(TenantContext.getTenantId()).isEqualTo(1L));
+        run(decorated);
+
+        run(() -> {
+            assertThat(TenantContext.getTenantId()).isNull();
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        });
+    }
+
+    // Runs the task on the worker and rethrows its assertion failures here
+    private void run(Runnable task) throws Exception {
+        try {
+            worker.submit(task).get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof AssertionError error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private static Authentication authentication(Long userId) {
+        return new UsernamePasswordAuthenticationToken(userId, null, List.of());
+    }
+}
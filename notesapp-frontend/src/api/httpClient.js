@@ -2,15 +2,22 @@ import { getToken, removeToken } from '../auth/authUtils';
 
 const BASE_URL = import.meta.env.VITE_API_BASE_URL;
 
-// Custom error class to carry status and message
+// Custom error class to carry status, message and, for 429/503, the Retry-After delay in seconds
 export class ApiError extends Error {
-  constructor(status, message) {
+  constructor(status, message, retryAfter = null) {
     super(message);
     this.status = status;
+    this.retryAfter = retryAfter;
     this.name = 'ApiError';
   }
 }
 
+// Retry-After in seconds, or null when absent (the server only sends the delta-seconds form)
+const parseRetryAfter = (response) => {
+  const seconds = Number.parseInt(response.headers.get('Retry-After'), 10);
+  return Number.isNaN(seconds) ? null : seconds;
+};
+
 /**
  * Centralized HTTP client
  * - Attaches JWT automatically
@@ -69,7 +76,11 @@ const httpClient = {
         errorMessage = await response.text();
       }
 
-      throw new ApiError(response.status, errorMessage || `Request failed with status ${response.status}`);
+      throw new ApiError(
+        response.status,
+        errorMessage || `Request failed with status ${response.status}`,
+        parseRetryAfter(response)
+      );
     }
 
     // Handle successful responses
@@ -103,15 +114,69 @@ const httpClient = {
     }, expectText);
   },
 
-  put(endpoint, data, expectText = false) {
+  put(endpoint, data, expectText = false, headers = {}) {
     return this.request(endpoint, {
       method: 'PUT',
-      body: data ? JSON.stringify(data) : undefined
+      body: data ? JSON.stringify(data) : undefined,
+      headers
     }, expectText);
   },
 
   delete(endpoint) {
     return this.request(endpoint, { method: 'DELETE' });
+  },
+
+  /**
+   * Read a Server-Sent Events stream until it ends or the signal aborts.
+   * Uses fetch rather than EventSource, which cannot send the Authorization header.
+   * @param {string} endpoint - Stream endpoint
+   * @param {function} onEvent - Called with (eventName, data) for each event; comments are skipped
+   * @param {AbortSignal} signal - Aborts the stream
+   * @returns {Promise<void>} Resolves when the server closes the stream
+   */
+  async stream(endpoint, onEvent, signal) {
+    const token = getToken();
+    const headers = { Accept: 'text/event-stream' };
+    if (token) {
+      headers['Authorization'] = `Bearer ${token}`;
+    }
+
+    const response = await fetch(`${BASE_URL}${endpoint}`, { headers, signal });
+    if (response.status === 401) {
+      removeToken();
+      throw new ApiError(401, 'Session expired. Please log in again.');
+    }
+    if (!response.ok) {
+      throw new ApiError(response.status, `Stream failed with status ${response.status}`, parseRetryAfter(response));
+    }
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) return;
+      buffer += value;
+
+      // Events are separated by a blank line
+      let boundary;
+      while ((boundary = buffer.indexOf('\n\n')) !== -1) {
+        const frame = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+
+        let eventName = 'message';
+        const dataLines = [];
+        for (const line of frame.split('\n')) {
+          if (line.startsWith('event:')) {
+            eventName = line.slice(6).trim();
+          } else if (line.startsWith('data:')) {
+            dataLines.push(line.slice(5));
+          }
+        }
+        if (dataLines.length > 0) {
+          onEvent(eventName, dataLines.join('\n'));
+        }
+      }
+    }
   }
 };
 
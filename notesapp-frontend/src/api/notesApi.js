@@ -3,19 +3,27 @@ import httpClient from './httpClient';
 /**
  * Notes API
  * All endpoints require JWT
- * - GET    /api/notes
+ * - GET    /api/notes?cursor=&limit= (paginated summaries)
  * - GET    /api/notes/{id}
  * - POST   /api/notes
  * - PUT    /api/notes/{id}
  * - DELETE /api/notes/{id} (ADMIN only)
+ * - GET    /api/notes/changes?since=&limit= (changes since a sync cursor)
+ * - GET    /api/notes/stream (live changes, Server-Sent Events)
  */
 const notesApi = {
   /**
-   * Get all notes for the current tenant
-   * @returns {Promise<Array>} List of notes
+   * Get one page of note summaries for the current tenant (newest first)
+   * @param {string|null} cursor - nextCursor from the previous page, or null for the first page
+   * @param {number} limit - Page size (server caps it at 100)
+   * @returns {Promise<Object>} { items, nextCursor, hasMore }
    */
-  async getAll() {
-    return httpClient.get('/api/notes');
+  async getPage(cursor = null, limit = 20) {
+    const params = new URLSearchParams({ limit: String(limit) });
+    if (cursor) {
+      params.set('cursor', cursor);
+    }
+    return httpClient.get(`/api/notes?${params.toString()}`);
   },
 
   /**
@@ -40,10 +48,12 @@ const notesApi = {
    * Update an existing note
    * @param {string|number} id
    * @param {Object} noteData - Updated note data
+   * @param {number} [version] - Version the edit is based on; the server answers 412 if the note changed since
    * @returns {Promise<Object>} Updated note
    */
-  async update(id, noteData) {
-    return httpClient.put(`/api/notes/${id}`, noteData);
+  async update(id, noteData, version) {
+    const headers = version !== undefined && version !== null ? { 'If-Match': `"${id}.${version}"` } : {};
+    return httpClient.put(`/api/notes/${id}`, noteData, false, headers);
   },
 
   /**
@@ -53,6 +63,35 @@ const notesApi = {
    */
   async delete(id) {
     return httpClient.delete(`/api/notes/${id}`);
+  },
+
+  /**
+   * Get notes created, updated or deleted since a sync cursor (oldest change first)
+   * @param {string} since - Cursor from the stream's sync event or a previous nextCursor
+   * @param {number} limit - Page size (server caps it at 500)
+   * @returns {Promise<Object>} { upserts, deletions, nextCursor, hasMore }; 410 when the cursor is too old
+   */
+  async getChanges(since, limit = 100) {
+    const params = new URLSearchParams({ since, limit: String(limit) });
+    return httpClient.get(`/api/notes/changes?${params.toString()}`);
+  },
+
+  /**
+   * Receive note changes made in the tenant until the stream closes or the signal aborts
+   * @param {function} onChange - Called with { action, noteId, version, actorId, occurredAt }
+   * @param {function} onSync - Called first, with the getChanges cursor the announced changes can be fetched from
+   * @param {AbortSignal} signal
+   * @returns {Promise<void>} Resolves when the server closes the stream
+   */
+  async subscribe(onChange, onSync, signal) {
+    return httpClient.stream('/api/notes/stream', (eventName, data) => {
+      const payload = JSON.parse(data);
+      if (eventName === 'sync') {
+        onSync(payload.cursor);
+      } else {
+        onChange(payload);
+      }
+    }, signal);
   }
 };
 
@@ -2,12 +2,14 @@ import { useAuth } from '../auth/AuthContext';
 
 const NoteItem = ({ note, onEdit, onDelete, style }) => {
   const { isAdmin } = useAuth();
+  // Paginated list items carry a preview; freshly created/updated notes carry full content
+  const text = note.preview ?? note.content;
 
   return (
     <div className="note-card" style={style}>
       <h3 className="note-card-title">{note.title}</h3>
-      {note.content && (
-        <p className="note-card-content">{note.content}</p>
+      {text && (
+        <p className="note-card-content">{text}</p>
       )}
       <div className="note-card-actions">
         <button
@@ -1,4 +1,4 @@
-import { useState, useEffect, useCallback } from 'react';
+import { useState, useEffect, useCallback, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useAuth } from '../auth/AuthContext';
 import { useToast } from '../hooks/useToast';
@@ -8,9 +8,18 @@ import NoteForm from '../components/NoteForm';
 import NoteList from '../components/NoteList';
 import UpgradeBanner from '../components/UpgradeBanner';
 
+// Stream events are collected for this long and then fetched together from the change feed
+const SYNC_DELAY_MS = 1000;
+// Changes younger than the server's settle window are not in the feed yet; retry after this delay
+const SYNC_RETRY_MS = 2000;
+// Gives up on announced notes that never show up in the feed
+const SYNC_MAX_RETRIES = 10;
+
 const Notes = () => {
   const [notes, setNotes] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [editingNote, setEditingNote] = useState(null);
   const [showUpgradeBanner, setShowUpgradeBanner] = useState(false);
   const [upgradeBannerMessage, setUpgradeBannerMessage] = useState('');
@@ -21,8 +30,9 @@ const Notes = () => {
 
   const fetchNotes = useCallback(async () => {
     try {
-      const data = await notesApi.getAll();
-      setNotes(data);
+      const page = await notesApi.getPage();
+      setNotes(page.items);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       if (error instanceof ApiError) {
         if (error.status === 401) {
@@ -42,10 +52,171 @@ const Notes = () => {
     fetchNotes();
   }, [fetchNotes]);
 
+  // Colleagues' changes announced on the stream, waiting to be fetched from the change feed
+  const sync = useRef({ cursor: null, pending: new Set(), timer: null, running: false, retries: 0, restart: null });
+  const syncRemoteChangesRef = useRef(null);
+
+  const scheduleSync = useCallback((delayMs) => {
+    const state = sync.current;
+    if (state.timer) return;
+    state.timer = setTimeout(() => {
+      state.timer = null;
+      syncRemoteChangesRef.current?.();
+    }, delayMs);
+  }, []);
+
+  const syncRemoteChanges = useCallback(async () => {
+    const state = sync.current;
+    if (state.running || !state.cursor || state.pending.size === 0) return;
+
+    state.running = true;
+    let retryMs = SYNC_RETRY_MS;
+    try {
+      let hasMore = true;
+      while (hasMore) {
+        const changes = await notesApi.getChanges(state.cursor);
+        const upserts = new Map(changes.upserts.map((note) => [note.id, note]));
+        const deletions = new Set(changes.deletions);
+        setNotes((prev) => {
+          const kept = prev
+            .filter((note) => !deletions.has(note.id))
+            .map((note) => upserts.get(note.id) ?? note);
+          const known = new Set(kept.map((note) => note.id));
+          const added = changes.upserts.filter((note) => !known.has(note.id)).reverse();
+          return [...added, ...kept];
+        });
+        upserts.forEach((note, id) => state.pending.delete(id));
+        deletions.forEach((id) => state.pending.delete(id));
+        state.cursor = changes.nextCursor;
+        hasMore = changes.hasMore;
+      }
+      state.retries = state.pending.size === 0 ? 0 : state.retries + 1;
+      if (state.retries > SYNC_MAX_RETRIES) {
+        state.pending.clear();
+        state.retries = 0;
+      }
+    } catch (error) {
+      if (error instanceof ApiError && (error.status === 429 || error.status === 503)) {
+        // Rate limited or overloaded: keep the queue and come back when the server says so
+        retryMs = (error.retryAfter ?? SYNC_RETRY_MS / 1000) * 1000;
+      } else {
+        state.pending.clear();
+        if (error instanceof ApiError && error.status === 401) {
+          navigate('/login');
+        } else if (error instanceof ApiError && error.status === 410) {
+          // Cursor older than the server keeps deletions: reconnect, which reloads
+          // the first page and starts from a fresh cursor
+          state.cursor = null;
+          state.restart?.();
+        } else {
+          showError('Failed to load live changes. Reload to see the latest notes.');
+        }
+      }
+    } finally {
+      state.running = false;
+    }
+    if (state.pending.size > 0) {
+      scheduleSync(retryMs);
+    }
+  }, [navigate, scheduleSync, showError]);
+
+  useEffect(() => {
+    syncRemoteChangesRef.current = syncRemoteChanges;
+  }, [syncRemoteChanges]);
+
+  // Apply colleagues' changes as they happen (own changes are already applied locally).
+  // Deletions need no fetch; other changes are queued and fetched together.
+  const applyRemoteChange = useCallback((change) => {
+    if (change.actorId === user?.userId) return;
+
+    if (change.action === 'DELETED') {
+      setNotes((prev) => prev.filter((note) => note.id !== change.noteId));
+      return;
+    }
+    sync.current.pending.add(change.noteId);
+    if (!sync.current.running) {
+      scheduleSync(SYNC_DELAY_MS);
+    }
+  }, [scheduleSync, user?.userId]);
+
+  // Each stream starts from a fresh cursor; changes queued on an earlier stream are
+  // covered by reloading the first page
+  const startSync = useCallback((cursor) => {
+    sync.current.cursor = cursor;
+    sync.current.pending.clear();
+    sync.current.retries = 0;
+  }, []);
+
+  // Live updates instead of polling. Events missed while disconnected are not replayed,
+  // so the first page is reloaded after every reconnect.
+  useEffect(() => {
+    const controller = new AbortController();
+    const state = sync.current;
+
+    const listen = async () => {
+      let reconnecting = false;
+      while (!controller.signal.aborted) {
+        try {
+          if (reconnecting) {
+            await fetchNotes();
+          }
+          const stream = new AbortController();
+          const abortStream = () => stream.abort();
+          controller.signal.addEventListener('abort', abortStream);
+          state.restart = abortStream;
+          try {
+            await notesApi.subscribe(applyRemoteChange, startSync, stream.signal);
+          } finally {
+            controller.signal.removeEventListener('abort', abortStream);
+          }
+        } catch (error) {
+          if (controller.signal.aborted) return;
+          if (error instanceof ApiError && error.status === 401) {
+            navigate('/login');
+            return;
+          }
+        }
+        reconnecting = true;
+        await new Promise((resolve) => setTimeout(resolve, 5000));
+      }
+    };
+    listen();
+
+    return () => {
+      controller.abort();
+      clearTimeout(state.timer);
+      state.timer = null;
+      state.cursor = null;
+      state.restart = null;
+    };
+  }, [applyRemoteChange, fetchNotes, navigate, startSync]);
+
+  const handleLoadMore = async () => {
+    if (!nextCursor) return;
+
+    setLoadingMore(true);
+    try {
+      const page = await notesApi.getPage(nextCursor);
+      setNotes((prev) => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      if (error instanceof ApiError) {
+        showError(error.message);
+        if (error.status === 401) {
+          navigate('/login');
+        }
+      } else {
+        showError('Failed to load notes');
+      }
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleCreateNote = async (noteData) => {
     try {
       const newNote = await notesApi.create(noteData);
-      setNotes((prev) => [...prev, newNote]);
+      setNotes((prev) => [newNote, ...prev]);
       setShowUpgradeBanner(false);
       showSuccess('Note created');
     } catch (error) {
@@ -68,7 +239,7 @@ const Notes = () => {
     if (!editingNote) return;
 
     try {
-      const updatedNote = await notesApi.update(editingNote.id, noteData);
+      const updatedNote = await notesApi.update(editingNote.id, noteData, editingNote.version);
       setNotes((prev) =>
         prev.map((note) => (note.id === editingNote.id ? updatedNote : note))
       );
@@ -103,9 +274,22 @@ const Notes = () => {
     }
   };
 
-  const handleEditNote = (note) => {
-    setEditingNote(note);
-    window.scrollTo({ top: 0, behavior: 'smooth' });
+  const handleEditNote = async (note) => {
+    try {
+      // List items only carry a content preview, so load the full note before editing
+      const fullNote = note.content !== undefined ? note : await notesApi.getById(note.id);
+      setEditingNote(fullNote);
+      window.scrollTo({ top: 0, behavior: 'smooth' });
+    } catch (error) {
+      if (error instanceof ApiError) {
+        showError(error.message);
+        if (error.status === 401) {
+          navigate('/login');
+        }
+      } else {
+        showError('Failed to load note');
+      }
+    }
   };
 
   const handleCancelEdit = () => {
@@ -168,6 +352,18 @@ const Notes = () => {
           onDelete={handleDeleteNote}
           loading={loading}
         />
+
+        {nextCursor && !loading && (
+          <div style={{ textAlign: 'center', marginTop: '16px' }}>
+            <button
+              onClick={handleLoadMore}
+              className="btn btn-outline"
+              disabled={loadingMore}
+            >
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );